@@ -0,0 +1,142 @@
+/**
+ * @file AutomationBenchmark.java
+ * @date 18/10/2026
+ * Measures the duration of the evaluation of the automation rules at each update, with the rules compiled into an
+ * AutomationTable and with the rules interpreted one by one from their records, then the duration of a whole House.update
+ * Usage: java benchmark.AutomationBenchmark [rooms count] [rules count] [seconds per measure]
+ */
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import model.AutomationRule;
+import model.AutomationRule.Action;
+import model.AutomationRule.Comparison;
+import model.AutomationRule.Condition;
+import model.AutomationRule.Input;
+import model.AutomationTable;
+import model.GameRandom;
+import model.House;
+import model.PerkPipeline;
+import model.RoomStates;
+import model.Weather;
+
+public class AutomationBenchmark {
+
+	public static void main(String[] args) {
+		int roomsCount = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+		int rulesCount = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+		double seconds = args.length > 2 ? Double.parseDouble(args[2]) : 2;
+
+		GameRandom random = new GameRandom(42);
+		House house = HouseUpdateBenchmark.createHouse(roomsCount, random);
+		List<AutomationRule> rules = createRules(rulesCount, roomsCount, random);
+		rules.forEach(house::addAutomationRule);
+		RoomStates roomStates = house.getRoomStates();
+		Weather weather = new Weather(12f, .5f);
+
+		long start = System.nanoTime();
+		AutomationTable table = new AutomationTable(rules);
+		long compilation = System.nanoTime() - start;
+		System.out.printf("%d rules, %d conditions compiled in %.2f ms%n",
+				table.getRulesCount(), table.getConditionsCount(), compilation / 1e6);
+
+		for (int round = 0; round < 2; round++) { // first round is the warm-up
+			double compiled = measure(seconds, () -> table.evaluate(roomStates, weather.getHumidityRate(), weather.getTemperature()));
+			double interpreted = measure(seconds, () -> interpret(rules, roomStates, weather));
+			if (round == 1) {
+				System.out.printf("%d rooms - interpreted: %.2f us per update, decision table: %.2f us per update (x%.2f)%n",
+						roomsCount, interpreted / 1e3, compiled / 1e3, interpreted / compiled);
+			}
+		}
+
+		PerkPipeline perks = new PerkPipeline();
+		measure(seconds, () -> house.update(weather, perks));
+		double update = measure(seconds, () -> house.update(weather, perks));
+		System.out.printf("%d rooms with %d rules - House.update: %.2f us per step%n", roomsCount, rulesCount, update / 1e3);
+	}
+
+	/**
+	 * Creates rules with one to three conditions, one in twenty of them applied to every room
+	 */
+	static List<AutomationRule> createRules(int rulesCount, int roomsCount, GameRandom random) {
+		Input[] inputs = Input.values();
+		Action[] actions = Action.values();
+		List<AutomationRule> rules = new ArrayList<>();
+		for (int i = 0; i < rulesCount; i++) {
+			List<Condition> conditions = new ArrayList<>();
+			int conditionsCount = 1 + (int) (random.nextDouble() * 3);
+			for (int j = 0; j < conditionsCount; j++) {
+				Input input = inputs[(int) (random.nextDouble() * inputs.length)];
+				boolean isHumidity = input == Input.ROOM_HUMIDITY_RATE || input == Input.OUTSIDE_HUMIDITY_RATE;
+				float threshold = isHumidity ? (float) random.nextDouble() : 10 + (float) random.nextDouble() * 20;
+				conditions.add(new Condition(input, random.nextBoolean() ? Comparison.LESS_THAN : Comparison.GREATER_THAN, threshold));
+			}
+			int room = i % 20 == 0 ? AutomationRule.ALL_ROOMS : (int) (random.nextDouble() * roomsCount);
+			Action action = actions[(int) (random.nextDouble() * actions.length)];
+			rules.add(new AutomationRule(room, conditions, action, 15 + (float) random.nextDouble() * 10));
+		}
+		return rules;
+	}
+
+	/**
+	 * Reference evaluation reading the records of the rules at each update
+	 */
+	private static void interpret(List<AutomationRule> rules, RoomStates states, Weather weather) {
+		for (AutomationRule rule: rules) {
+			int from = rule.roomIndex() == AutomationRule.ALL_ROOMS ? 0 : rule.roomIndex();
+			int to = rule.roomIndex() == AutomationRule.ALL_ROOMS ? states.size() : rule.roomIndex() + 1;
+			for (int i = from; i < to; i++) {
+				boolean holds = true;
+				for (Condition condition: rule.conditions()) {
+					float value = switch (condition.input()) {
+						case ROOM_TEMPERATURE -> states.getTemperature(i);
+						case ROOM_HUMIDITY_RATE -> states.getHumidityRate(i);
+						case OUTSIDE_TEMPERATURE -> weather.getTemperature();
+						case OUTSIDE_HUMIDITY_RATE -> weather.getHumidityRate();
+					};
+					if (condition.comparison() == Comparison.LESS_THAN ? value >= condition.threshold() : value <= condition.threshold()) {
+						holds = false;
+						break;
+					}
+				}
+				if (!holds) {
+					continue;
+				}
+				switch (rule.action()) {
+					case OPEN_WINDOW -> states.setWindowOpen(i, true);
+					case CLOSE_WINDOW -> states.setWindowOpen(i, false);
+					case TURN_ON_HEATER -> {
+						states.setHeaterTemperature(i, rule.value());
+						states.setHeaterTurnedOn(i, true);
+					}
+					case TURN_OFF_HEATER -> states.setHeaterTurnedOn(i, false);
+					case TURN_ON_AC -> {
+						states.setACTemperature(i, rule.value());
+						states.setACTurnedOn(i, true);
+					}
+					case TURN_OFF_AC -> states.setACTurnedOn(i, false);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Runs an evaluation repeatedly for a given time
+	 * @return the average duration of an evaluation in nanoseconds
+	 */
+	private static double measure(double seconds, Runnable evaluation) {
+		long iterations = 0;
+		long start = System.nanoTime();
+		long end = start + (long) (seconds * 1e9);
+		long now;
+		do {
+			for (int i = 0; i < 100; i++) {
+				evaluation.run();
+			}
+			iterations += 100;
+			now = System.nanoTime();
+		} while (now < end);
+		return (now - start) / (double) iterations;
+	}
+}
@@ -0,0 +1,431 @@
+/**
+ * @file CountingGraphics.java
+ * @date 18/10/2026
+ * Graphics used by the benchmarks to count the draw calls of a frame: every drawing, filling, clearing and copying
+ * operation is counted, then given to the wrapped graphics
+ */
+package benchmark;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.text.AttributedCharacterIterator;
+import java.util.Map;
+
+public class CountingGraphics extends Graphics2D {
+
+	private final Graphics2D graphics; // graphics the calls are given to
+	private final long[] drawCalls; // number of draw calls, shared with the graphics created from this one
+
+	/**
+	 * Class constructor
+	 * @param graphics: graphics the calls are given to
+	 */
+	public CountingGraphics(Graphics2D graphics) {
+		this(graphics, new long[1]);
+	}
+
+	private CountingGraphics(Graphics2D graphics, long[] drawCalls) {
+		this.graphics = graphics;
+		this.drawCalls = drawCalls;
+	}
+
+	@Override
+	public void addRenderingHints(Map<?, ?> arg0) {
+		this.graphics.addRenderingHints(arg0);
+	}
+
+	@Override
+	public void clearRect(int arg0, int arg1, int arg2, int arg3) {
+		this.drawCalls[0]++;
+		this.graphics.clearRect(arg0, arg1, arg2, arg3);
+	}
+
+	@Override
+	public void clipRect(int arg0, int arg1, int arg2, int arg3) {
+		this.graphics.clipRect(arg0, arg1, arg2, arg3);
+	}
+
+	@Override
+	public void clip(Shape arg0) {
+		this.graphics.clip(arg0);
+	}
+
+	@Override
+	public void copyArea(int arg0, int arg1, int arg2, int arg3, int arg4, int arg5) {
+		this.drawCalls[0]++;
+		this.graphics.copyArea(arg0, arg1, arg2, arg3, arg4, arg5);
+	}
+
+	@Override
+	public Graphics create() {
+		return new CountingGraphics((Graphics2D) this.graphics.create(), this.drawCalls);
+	}
+
+	@Override
+	public void drawRect(int arg0, int arg1, int arg2, int arg3) { // a single call, Graphics would draw four lines
+		this.drawCalls[0]++;
+		this.graphics.drawRect(arg0, arg1, arg2, arg3);
+	}
+
+	@Override
+	public void dispose() {
+		this.graphics.dispose();
+	}
+
+	@Override
+	public void drawArc(int arg0, int arg1, int arg2, int arg3, int arg4, int arg5) {
+		this.drawCalls[0]++;
+		this.graphics.drawArc(arg0, arg1, arg2, arg3, arg4, arg5);
+	}
+
+	@Override
+	public void drawGlyphVector(GlyphVector arg0, float arg1, float arg2) {
+		this.drawCalls[0]++;
+		this.graphics.drawGlyphVector(arg0, arg1, arg2);
+	}
+
+	@Override
+	public boolean drawImage(Image arg0, AffineTransform arg1, ImageObserver arg2) {
+		this.drawCalls[0]++;
+		return this.graphics.drawImage(arg0, arg1, arg2);
+	}
+
+	@Override
+	public boolean drawImage(Image arg0, int arg1, int arg2, Color arg3, ImageObserver arg4) {
+		this.drawCalls[0]++;
+		return this.graphics.drawImage(arg0, arg1, arg2, arg3, arg4);
+	}
+
+	@Override
+	public boolean drawImage(Image arg0, int arg1, int arg2, int arg3, int arg4, Color arg5, ImageObserver arg6) {
+		this.drawCalls[0]++;
+		return this.graphics.drawImage(arg0, arg1, arg2, arg3, arg4, arg5, arg6);
+	}
+
+	@Override
+	public boolean drawImage(Image arg0, int arg1, int arg2, int arg3, int arg4, int arg5, int arg6, int arg7, int arg8, Color arg9, ImageObserver a10) {
+		this.drawCalls[0]++;
+		return this.graphics.drawImage(arg0, arg1, arg2, arg3, arg4, arg5, arg6, arg7, arg8, arg9, a10);
+	}
+
+	@Override
+	public boolean drawImage(Image arg0, int arg1, int arg2, int arg3, int arg4, int arg5, int arg6, int arg7, int arg8, ImageObserver arg9) {
+		this.drawCalls[0]++;
+		return this.graphics.drawImage(arg0, arg1, arg2, arg3, arg4, arg5, arg6, arg7, arg8, arg9);
+	}
+
+	@Override
+	public boolean drawImage(Image arg0, int arg1, int arg2, int arg3, int arg4, ImageObserver arg5) {
+		this.drawCalls[0]++;
+		return this.graphics.drawImage(arg0, arg1, arg2, arg3, arg4, arg5);
+	}
+
+	@Override
+	public boolean drawImage(Image arg0, int arg1, int arg2, ImageObserver arg3) {
+		this.drawCalls[0]++;
+		return this.graphics.drawImage(arg0, arg1, arg2, arg3);
+	}
+
+	@Override
+	public void drawImage(BufferedImage arg0, BufferedImageOp arg1, int arg2, int arg3) {
+		this.drawCalls[0]++;
+		this.graphics.drawImage(arg0, arg1, arg2, arg3);
+	}
+
+	@Override
+	public void drawLine(int arg0, int arg1, int arg2, int arg3) {
+		this.drawCalls[0]++;
+		this.graphics.drawLine(arg0, arg1, arg2, arg3);
+	}
+
+	@Override
+	public void drawOval(int arg0, int arg1, int arg2, int arg3) {
+		this.drawCalls[0]++;
+		this.graphics.drawOval(arg0, arg1, arg2, arg3);
+	}
+
+	@Override
+	public void drawPolygon(int[] arg0, int[] arg1, int arg2) {
+		this.drawCalls[0]++;
+		this.graphics.drawPolygon(arg0, arg1, arg2);
+	}
+
+	@Override
+	public void drawPolyline(int[] arg0, int[] arg1, int arg2) {
+		this.drawCalls[0]++;
+		this.graphics.drawPolyline(arg0, arg1, arg2);
+	}
+
+	@Override
+	public void drawRenderableImage(RenderableImage arg0, AffineTransform arg1) {
+		this.drawCalls[0]++;
+		this.graphics.drawRenderableImage(arg0, arg1);
+	}
+
+	@Override
+	public void drawRenderedImage(RenderedImage arg0, AffineTransform arg1) {
+		this.drawCalls[0]++;
+		this.graphics.drawRenderedImage(arg0, arg1);
+	}
+
+	@Override
+	public void drawRoundRect(int arg0, int arg1, int arg2, int arg3, int arg4, int arg5) {
+		this.drawCalls[0]++;
+		this.graphics.drawRoundRect(arg0, arg1, arg2, arg3, arg4, arg5);
+	}
+
+	@Override
+	public void drawString(String arg0, float arg1, float arg2) {
+		this.drawCalls[0]++;
+		this.graphics.drawString(arg0, arg1, arg2);
+	}
+
+	@Override
+	public void drawString(String arg0, int arg1, int arg2) {
+		this.drawCalls[0]++;
+		this.graphics.drawString(arg0, arg1, arg2);
+	}
+
+	@Override
+	public void drawString(AttributedCharacterIterator arg0, float arg1, float arg2) {
+		this.drawCalls[0]++;
+		this.graphics.drawString(arg0, arg1, arg2);
+	}
+
+	@Override
+	public void drawString(AttributedCharacterIterator arg0, int arg1, int arg2) {
+		this.drawCalls[0]++;
+		this.graphics.drawString(arg0, arg1, arg2);
+	}
+
+	@Override
+	public void draw(Shape arg0) {
+		this.drawCalls[0]++;
+		this.graphics.draw(arg0);
+	}
+
+	@Override
+	public void fillArc(int arg0, int arg1, int arg2, int arg3, int arg4, int arg5) {
+		this.drawCalls[0]++;
+		this.graphics.fillArc(arg0, arg1, arg2, arg3, arg4, arg5);
+	}
+
+	@Override
+	public void fillOval(int arg0, int arg1, int arg2, int arg3) {
+		this.drawCalls[0]++;
+		this.graphics.fillOval(arg0, arg1, arg2, arg3);
+	}
+
+	@Override
+	public void fillPolygon(int[] arg0, int[] arg1, int arg2) {
+		this.drawCalls[0]++;
+		this.graphics.fillPolygon(arg0, arg1, arg2);
+	}
+
+	@Override
+	public void fillRect(int arg0, int arg1, int arg2, int arg3) {
+		this.drawCalls[0]++;
+		this.graphics.fillRect(arg0, arg1, arg2, arg3);
+	}
+
+	@Override
+	public void fillRoundRect(int arg0, int arg1, int arg2, int arg3, int arg4, int arg5) {
+		this.drawCalls[0]++;
+		this.graphics.fillRoundRect(arg0, arg1, arg2, arg3, arg4, arg5);
+	}
+
+	@Override
+	public void fill(Shape arg0) {
+		this.drawCalls[0]++;
+		this.graphics.fill(arg0);
+	}
+
+	@Override
+	public Color getBackground() {
+		return this.graphics.getBackground();
+	}
+
+	@Override
+	public Rectangle getClipBounds() {
+		return this.graphics.getClipBounds();
+	}
+
+	@Override
+	public Shape getClip() {
+		return this.graphics.getClip();
+	}
+
+	@Override
+	public Color getColor() {
+		return this.graphics.getColor();
+	}
+
+	@Override
+	public Composite getComposite() {
+		return this.graphics.getComposite();
+	}
+
+	@Override
+	public GraphicsConfiguration getDeviceConfiguration() {
+		return this.graphics.getDeviceConfiguration();
+	}
+
+	@Override
+	public FontMetrics getFontMetrics(Font arg0) {
+		return this.graphics.getFontMetrics(arg0);
+	}
+
+	@Override
+	public FontRenderContext getFontRenderContext() {
+		return this.graphics.getFontRenderContext();
+	}
+
+	@Override
+	public Font getFont() {
+		return this.graphics.getFont();
+	}
+
+	@Override
+	public Paint getPaint() {
+		return this.graphics.getPaint();
+	}
+
+	@Override
+	public Object getRenderingHint(RenderingHints.Key arg0) {
+		return this.graphics.getRenderingHint(arg0);
+	}
+
+	@Override
+	public RenderingHints getRenderingHints() {
+		return this.graphics.getRenderingHints();
+	}
+
+	@Override
+	public Stroke getStroke() {
+		return this.graphics.getStroke();
+	}
+
+	@Override
+	public AffineTransform getTransform() {
+		return this.graphics.getTransform();
+	}
+
+	@Override
+	public boolean hit(Rectangle arg0, Shape arg1, boolean arg2) {
+		return this.graphics.hit(arg0, arg1, arg2);
+	}
+
+	@Override
+	public void rotate(double arg0, double arg1, double arg2) {
+		this.graphics.rotate(arg0, arg1, arg2);
+	}
+
+	@Override
+	public void rotate(double arg0) {
+		this.graphics.rotate(arg0);
+	}
+
+	@Override
+	public void scale(double arg0, double arg1) {
+		this.graphics.scale(arg0, arg1);
+	}
+
+	@Override
+	public void setBackground(Color arg0) {
+		this.graphics.setBackground(arg0);
+	}
+
+	@Override
+	public void setClip(int arg0, int arg1, int arg2, int arg3) {
+		this.graphics.setClip(arg0, arg1, arg2, arg3);
+	}
+
+	@Override
+	public void setClip(Shape arg0) {
+		this.graphics.setClip(arg0);
+	}
+
+	@Override
+	public void setColor(Color arg0) {
+		this.graphics.setColor(arg0);
+	}
+
+	@Override
+	public void setComposite(Composite arg0) {
+		this.graphics.setComposite(arg0);
+	}
+
+	@Override
+	public void setFont(Font arg0) {
+		this.graphics.setFont(arg0);
+	}
+
+	@Override
+	public void setPaintMode() {
+		this.graphics.setPaintMode();
+	}
+
+	@Override
+	public void setPaint(Paint arg0) {
+		this.graphics.setPaint(arg0);
+	}
+
+	@Override
+	public void setRenderingHint(RenderingHints.Key arg0, Object arg1) {
+		this.graphics.setRenderingHint(arg0, arg1);
+	}
+
+	@Override
+	public void setRenderingHints(Map<?, ?> arg0) {
+		this.graphics.setRenderingHints(arg0);
+	}
+
+	@Override
+	public void setStroke(Stroke arg0) {
+		this.graphics.setStroke(arg0);
+	}
+
+	@Override
+	public void setTransform(AffineTransform arg0) {
+		this.graphics.setTransform(arg0);
+	}
+
+	@Override
+	public void setXORMode(Color arg0) {
+		this.graphics.setXORMode(arg0);
+	}
+
+	@Override
+	public void shear(double arg0, double arg1) {
+		this.graphics.shear(arg0, arg1);
+	}
+
+	@Override
+	public void transform(AffineTransform arg0) {
+		this.graphics.transform(arg0);
+	}
+
+	@Override
+	public void translate(double arg0, double arg1) {
+		this.graphics.translate(arg0, arg1);
+	}
+
+	@Override
+	public void translate(int arg0, int arg1) {
+		this.graphics.translate(arg0, arg1);
+	}
+
+	/**
+	 * Getters and setters
+	 */
+	public long getDrawCalls() {
+		return this.drawCalls[0];
+	}
+}
@@ -0,0 +1,79 @@
+/**
+ * @file DirtyRegionsBenchmark.java
+ * @date 18/10/2026
+ * Measures the frames painted when the mouse moves in and out of a button of the info bar, without a screen: the frame
+ * scheduler paints the region it is given into an image of the size of the screen, first when each hover repaints the
+ * whole screen as before, then when it repaints only the region invalidated by the button. Only the info bar is drawn,
+ * the rest of the game view needs a window
+ * Usage: java benchmark.DirtyRegionsBenchmark [frames per measure]
+ */
+package benchmark;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.Semaphore;
+import model.Game;
+import ui.InfoBarUI;
+import view.FrameScheduler;
+
+public class DirtyRegionsBenchmark {
+
+	private static final int WIDTH = 700, HEIGHT = 720; // size of the screen
+
+	private static final BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+	private static final Semaphore framesPainted = new Semaphore(0);
+	private static InfoBarUI infoBar;
+	private static FrameScheduler scheduler;
+
+	public static void main(String[] args) throws InterruptedException {
+		int framesCount = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		scheduler = new FrameScheduler(DirtyRegionsBenchmark::paint, new Rectangle(0, 0, WIDTH, HEIGHT), 10_000, false);
+		infoBar = new InfoBarUI(0, HEIGHT - 120, WIDTH, 120, new Game(), scheduler);
+		Thread schedulerThread = new Thread(scheduler);
+		schedulerThread.setDaemon(true);
+		schedulerThread.start();
+		framesPainted.acquire(); // first frame
+
+		for (int round = 0; round < 2; round++) { // first round is the warm-up
+			FrameScheduler.Stats full = hover(framesCount, true);
+			FrameScheduler.Stats dirty = hover(framesCount, false);
+			if (round == 1) {
+				System.out.println("Whole screen per hover - " + full);
+				System.out.println("Dirty regions per hover - " + dirty);
+				System.out.printf("Pixels per frame: %.1f%% of the screen%n", 100 * dirty.averagePixels() / full.averagePixels());
+			}
+		}
+	}
+
+	/**
+	 * Moves the mouse in and out of the menu button, waiting for each frame
+	 */
+	private static FrameScheduler.Stats hover(int framesCount, boolean isFullFrame) throws InterruptedException {
+		scheduler.takeStats();
+		for (int i = 0; i < framesCount; i++) {
+			infoBar.mouseMoved(i % 2 == 0 ? 50 : 300, HEIGHT - 100);
+			if (isFullFrame) {
+				scheduler.requestFrame();
+			}
+			framesPainted.acquire();
+		}
+		return scheduler.takeStats();
+	}
+
+	/**
+	 * Paints a region as the screen does: clears it, then draws the components within the clip
+	 */
+	private static void paint(Rectangle region) {
+		long start = System.nanoTime();
+		Graphics2D g = image.createGraphics();
+		g.setClip(region);
+		g.setColor(Color.WHITE);
+		g.fillRect(region.x, region.y, region.width, region.height);
+		infoBar.draw(g);
+		g.dispose();
+		scheduler.onFramePainted(System.nanoTime() - start, (long) region.width * region.height);
+		framesPainted.release();
+	}
+}
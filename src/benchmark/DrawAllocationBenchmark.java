@@ -0,0 +1,71 @@
+/**
+ * @file DrawAllocationBenchmark.java
+ * @date 18/10/2026
+ * Measures the bytes allocated by the frames of the in-game scenes, drawn without a window into an image of the size of
+ * the screen, with a button under the mouse. Each scene is drawn once clipped to the scene, the region repainted when
+ * the scene changes, and once with the info bar, the whole screen. Once warmed up, the frames must not allocate and the
+ * labels of the info bar must not be shaped again while the game does not change: the program exits with an error if
+ * they do
+ * Usage: java benchmark.DrawAllocationBenchmark [frames per measure]
+ */
+package benchmark;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import model.Game;
+import ui.ShapedText;
+import utils.PlayingStates;
+import view.FrameScheduler;
+import view.GameGUI;
+
+public class DrawAllocationBenchmark {
+
+	private static final int WIDTH = 700, HEIGHT = 720; // size of the screen
+
+	public static void main(String[] args) {
+		int framesCount = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = image.createGraphics();
+
+		FrameScheduler scheduler = new FrameScheduler(region -> {}, new Rectangle(0, 0, WIDTH, HEIGHT), 60, false); // never run, no screen to repaint
+		GameGUI gameGUI = new GameGUI(null, new Game(), new Dimension(WIDTH, HEIGHT), scheduler);
+		gameGUI.getEngine().planTask(0, 1);
+		gameGUI.getEngine().planTask(0, 3);
+		gameGUI.mouseMoved(50, 20); // over the first task button
+
+		boolean isOverBudget = false;
+		for (PlayingStates state: PlayingStates.values()) {
+			PlayingStates.setPlayingState(state);
+			if (state == PlayingStates.DAY) {
+				gameGUI.getEngine().stepTask();
+			}
+			long[] bytes = new long[2];
+			long shapes = 0;
+			for (int round = 0; round < 2; round++) { // first round is the warm-up
+				shapes = ShapedText.getShapesCount();
+				for (int clip = 0; clip < 2; clip++) {
+					g.setClip(0, 0, WIDTH, clip == 0 ? HEIGHT - 120 : HEIGHT);
+					long start = threads.getCurrentThreadAllocatedBytes();
+					for (int i = 0; i < framesCount; i++) {
+						gameGUI.render(g);
+					}
+					bytes[clip] = threads.getCurrentThreadAllocatedBytes() - start;
+				}
+				shapes = ShapedText.getShapesCount() - shapes;
+			}
+			System.out.printf("%s - scene: %.1f bytes per frame, with the info bar: %.1f bytes per frame, labels shaped: %d%n",
+					state, bytes[0] / (double) framesCount, bytes[1] / (double) framesCount, shapes);
+			// less than a byte per frame on average, the measure itself allocates
+			isOverBudget |= bytes[0] >= framesCount || bytes[1] >= framesCount || shapes > 0;
+		}
+		g.dispose();
+		if (isOverBudget) {
+			System.out.println("The frames allocate or shape labels again");
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,66 @@
+/**
+ * @file FrameSchedulerBenchmark.java
+ * @date 18/10/2026
+ * Measures the CPU time used by the frame loop without a screen: the previous busy loop polling the clock against the
+ * FrameScheduler while nothing changes, then the number of frames painted when frames are requested every millisecond
+ * and during an animation, which must stay under the maximum rate
+ * Usage: java benchmark.FrameSchedulerBenchmark [max frames per second] [seconds per measure]
+ */
+package benchmark;
+
+import java.awt.Rectangle;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+import view.FrameScheduler;
+
+public class FrameSchedulerBenchmark {
+
+	public static void main(String[] args) throws InterruptedException {
+		int maxFramesPerSecond = args.length > 0 ? Integer.parseInt(args[0]) : 90;
+		double seconds = args.length > 1 ? Double.parseDouble(args[1]) : 2;
+		long millis = (long) (seconds * 1000);
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		AtomicLong frames = new AtomicLong();
+
+		Thread busyLoop = new Thread(() -> {
+			long lastFrame = System.nanoTime();
+			double timePerFrame = 1e9 / maxFramesPerSecond;
+			while (!Thread.currentThread().isInterrupted()) {
+				long now = System.nanoTime();
+				if (now - lastFrame >= timePerFrame) {
+					lastFrame = now;
+					frames.incrementAndGet();
+				}
+			}
+		});
+		busyLoop.start();
+		Thread.sleep(millis);
+		long busyCpu = threads.getThreadCpuTime(busyLoop.getId());
+		busyLoop.interrupt();
+		busyLoop.join();
+		System.out.printf("Busy loop - idle: %d frames, %.0f ms of CPU in %.0f ms%n", frames.getAndSet(0), busyCpu / 1e6, seconds * 1000);
+
+		FrameScheduler scheduler = new FrameScheduler(region -> frames.incrementAndGet(), new Rectangle(0, 0, 700, 720), maxFramesPerSecond, false);
+		Thread schedulerThread = new Thread(scheduler);
+		schedulerThread.setDaemon(true);
+		schedulerThread.start();
+		Thread.sleep(100); // first frame
+		frames.set(0);
+		long cpuStart = threads.getThreadCpuTime(schedulerThread.getId());
+		Thread.sleep(millis);
+		System.out.printf("Frame scheduler - idle: %d frames, %.2f ms of CPU in %.0f ms%n",
+				frames.getAndSet(0), (threads.getThreadCpuTime(schedulerThread.getId()) - cpuStart) / 1e6, seconds * 1000);
+
+		long start = System.nanoTime();
+		while (System.nanoTime() - start < millis * 1_000_000) {
+			scheduler.requestFrame();
+			Thread.sleep(1);
+		}
+		System.out.printf("Frame scheduler - a request every ms: %.1f FPS%n", frames.getAndSet(0) / seconds);
+
+		scheduler.animateFor(millis);
+		Thread.sleep(millis);
+		System.out.printf("Frame scheduler - animation: %.1f FPS%n", frames.getAndSet(0) / seconds);
+	}
+}
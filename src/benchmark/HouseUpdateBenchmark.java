@@ -0,0 +1,121 @@
+/**
+ * @file HouseUpdateBenchmark.java
+ * @date 18/10/2026
+ * Measures the number of rooms updated per second, room by room through Room.update and with the column update of RoomStates,
+ * then the duration of a whole House.update when the rooms are connected as a grid and exchange heat. Before measuring,
+ * checks that two isolated connected rooms converge to their mean temperature, the reused fluxes must not overshoot it
+ * Usage: java benchmark.HouseUpdateBenchmark [rooms count] [seconds per measure]
+ */
+package benchmark;
+
+import java.util.ArrayList;
+import model.Family;
+import model.GameRandom;
+import model.House;
+import model.PerkPipeline;
+import model.PowerGenerator;
+import model.Weather;
+import model.Room;
+import model.RoomStates;
+
+public class HouseUpdateBenchmark {
+
+	public static void main(String[] args) {
+		int roomsCount = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+		double seconds = args.length > 1 ? Double.parseDouble(args[1]) : 2;
+
+		// Two isolated rooms at 20 and 10°C must get closer at each step without crossing 15°C
+		ArrayList<Room> pair = new ArrayList<>();
+		pair.add(new Room("Warm", 20f, .5f));
+		pair.add(new Room("Cold", 10f, .5f));
+		House pairHouse = new House(15f, .5f, 100, pair, new ArrayList<>(), new Family(), 21f, .45f);
+		pairHouse.setAllIsolationRates(1f);
+		pairHouse.connectRooms(pairHouse.getRooms().get(0), pairHouse.getRooms().get(1), .1f);
+		float gap = 10;
+		boolean isConverging = true;
+		for (int step = 0; step < 50; step++) {
+			pairHouse.update(new Weather(12f, .5f), new PerkPipeline());
+			float newGap = pairHouse.getRoomStates().getTemperature(0) - pairHouse.getRoomStates().getTemperature(1);
+			isConverging &= newGap >= 0 && newGap <= gap;
+			gap = newGap;
+		}
+		System.out.printf("Two connected rooms - %s, gap after 50 steps: %.4f°C%n", isConverging ? "converging" : "DIVERGING", gap);
+
+		House house = createHouse(roomsCount, new GameRandom(42));
+		ArrayList<Room> rooms = house.getRooms();
+		RoomStates roomStates = house.getRoomStates();
+
+		for (int round = 0; round < 2; round++) { // first round is the warm-up
+			double perRoom = measure(seconds, roomsCount, () -> {
+				for (Room room: rooms) {
+					room.update(.5f, 12f);
+				}
+			});
+			double columns = measure(seconds, roomsCount, () -> roomStates.update(.5f, 12f));
+			if (round == 1) {
+				System.out.printf("%d rooms - Room.update: %.1f M rooms/s, RoomStates.update: %.1f M rooms/s (x%.2f)%n",
+						roomsCount, perRoom / 1e6, columns / 1e6, columns / perRoom);
+			}
+		}
+
+		int gridWidth = (int) Math.ceil(Math.sqrt(roomsCount));
+		for (int i = 0; i < roomsCount; i++) {
+			if ((i + 1) % gridWidth != 0 && i + 1 < roomsCount) {
+				house.connectRooms(rooms.get(i), rooms.get(i + 1), .1f);
+			}
+			if (i + gridWidth < roomsCount) {
+				house.connectRooms(rooms.get(i), rooms.get(i + gridWidth), .1f);
+			}
+		}
+		Weather weather = new Weather(12f, .5f);
+		PerkPipeline perks = new PerkPipeline();
+		measure(seconds, roomsCount, () -> house.update(weather, perks));
+		double connected = measure(seconds, roomsCount, () -> house.update(weather, perks));
+		System.out.printf("%d rooms with %d connections - House.update: %.2f us per step%n",
+				roomsCount, house.getRoomGraph().getConnectionsCount(), roomsCount / connected * 1e6);
+	}
+
+	/**
+	 * Creates a house with rooms in various states: a third with windows open, a third heated, a third cooled
+	 */
+	static House createHouse(int roomsCount, GameRandom random) {
+		ArrayList<Room> rooms = new ArrayList<>();
+		for (int i = 0; i < roomsCount; i++) {
+			Room room = new Room("Room " + i, 10 + (float) random.nextDouble() * 20, (float) random.nextDouble());
+			room.setIsolationRate((float) random.nextDouble());
+			switch (i % 3) {
+				case 0 -> room.setWindowOpen(true);
+				case 1 -> {
+					room.setHeaterTemperature(23);
+					room.setHeaterTurnedOn(true);
+				}
+				case 2 -> {
+					room.setACTemperature(18);
+					room.setACTurnedOn(true);
+				}
+			}
+			rooms.add(room);
+		}
+		ArrayList<PowerGenerator> powerGenerators = new ArrayList<>();
+		return new House(18f, .4f, 100, rooms, powerGenerators, new Family(), 21f, .45f);
+	}
+
+	/**
+	 * Runs an update repeatedly for a given time
+	 * @return the number of rooms updated per second
+	 */
+	private static double measure(double seconds, int roomsCount, Runnable update) {
+		long iterations = 0;
+		long start = System.nanoTime();
+		long end = start + (long) (seconds * 1e9);
+		long now;
+		do {
+			for (int i = 0; i < 100; i++) {
+				update.run();
+			}
+			iterations += 100;
+			now = System.nanoTime();
+		} while (now < end);
+		return iterations * roomsCount / ((now - start) / 1e9);
+	}
+}
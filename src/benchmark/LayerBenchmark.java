@@ -0,0 +1,81 @@
+/**
+ * @file LayerBenchmark.java
+ * @date 18/10/2026
+ * Measures the draw calls and the time of the frames of the static part of the tasks scene, its background and its
+ * task buttons, drawn directly as before and blitted from a layer, then of the info bar, into an image of the size of
+ * the screen without a screen. Counts the times the layers are drawn into their surface, which must stay at one per layer
+ * Usage: java benchmark.LayerBenchmark [frames per measure]
+ */
+package benchmark;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import model.Game;
+import model.Task;
+import ui.Button;
+import ui.InfoBarUI;
+import ui.Layer;
+import view.FrameScheduler;
+
+public class LayerBenchmark {
+
+	private static final int WIDTH = 700, HEIGHT = 720; // size of the screen
+
+	public static void main(String[] args) {
+		int framesCount = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+		BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+		Game game = new Game();
+		FrameScheduler scheduler = new FrameScheduler(region -> {}, new Rectangle(0, 0, WIDTH, HEIGHT), 60, false); // never run, no screen to repaint
+
+		List<Button> buttons = new ArrayList<>();
+		int line = 0, column = 0;
+		for (Task task: game.getAvailableTasks()) {
+			if (230 * column > WIDTH - 220) {
+				column = 0;
+				line++;
+			}
+			buttons.add(new Button(task.name() + " (" + task.stamina() + " Stamina, " + task.money() + " Money)", 10 + 230 * column++, 10 + 40 * line, 220, 30, task.ID(), scheduler));
+		}
+		Consumer<Graphics2D> tasksScene = g -> {
+			g.setColor(new Color(220, 123, 15));
+			g.fillRect(0, 0, WIDTH, HEIGHT - 120);
+			buttons.forEach(button -> button.drawIdle(g));
+		};
+		Layer layer = new Layer(0, 0, WIDTH, HEIGHT - 120, tasksScene);
+		InfoBarUI infoBar = new InfoBarUI(0, HEIGHT - 120, WIDTH, 120, game, scheduler);
+
+		for (int round = 0; round < 2; round++) { // first round is the warm-up
+			long rasterizations = Layer.getRasterizationsCount();
+			String direct = measure(image, framesCount, tasksScene);
+			String layered = measure(image, framesCount, layer::draw);
+			String bar = measure(image, framesCount, infoBar::draw);
+			if (round == 1) {
+				System.out.printf("Tasks scene, %d buttons - drawn directly: %s%n", buttons.size(), direct);
+				System.out.printf("Tasks scene, %d buttons - from a layer: %s%n", buttons.size(), layered);
+				System.out.printf("Info bar - %s%n", bar);
+				System.out.printf("Layers drawn into their surface during %d frames: %d%n", 2 * framesCount, Layer.getRasterizationsCount() - rasterizations);
+			}
+		}
+	}
+
+	/**
+	 * Paints frames into the image
+	 * @return the draw calls and the time per frame
+	 */
+	private static String measure(BufferedImage image, int framesCount, Consumer<Graphics2D> frame) {
+		long drawCalls = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < framesCount; i++) {
+			CountingGraphics g = new CountingGraphics(image.createGraphics());
+			frame.accept(g);
+			g.dispose();
+			drawCalls += g.getDrawCalls();
+		}
+		return String.format("%.1f draw calls, %.1f us per frame", drawCalls / (double) framesCount, (System.nanoTime() - start) / 1e3 / framesCount);
+	}
+}
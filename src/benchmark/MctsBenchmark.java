@@ -0,0 +1,49 @@
+/**
+ * @file MctsBenchmark.java
+ * @date 18/10/2026
+ * Plays a game with the MctsAgent and prints, for each day, the recommended action, its confidence and the number of
+ * iterations the search ran within its time budget
+ * Usage: java benchmark.MctsBenchmark [days] [time budget in ms] [horizon in days]
+ */
+package benchmark;
+
+import java.util.concurrent.ForkJoinPool;
+import model.GameRandom;
+import model.Task;
+import simulation.GameEngine;
+import simulation.MctsAgent;
+
+public class MctsBenchmark {
+
+	public static void main(String[] args) {
+		int days = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+		long timeBudgetMillis = args.length > 1 ? Long.parseLong(args[1]) : 200;
+		int horizon = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		MctsAgent agent = new MctsAgent(pool, pool.getParallelism(), horizon, timeBudgetMillis, new GameRandom(42));
+		GameEngine engine = new GameEngine(42);
+		for (int day = 0; day < days && !engine.isGameOver(); day++) {
+			long start = System.nanoTime();
+			MctsAgent.Recommendation recommendation = agent.recommend(engine.getGame());
+			long duration = System.nanoTime() - start;
+			if (recommendation == null) {
+				break;
+			}
+			System.out.printf("Day %d - %s, perk %d, confidence %.2f, expected reward %.2f, %d iterations in %d ms (%.0f iterations/s)%n",
+					engine.getDayNumber(), namesOf(recommendation.action()), recommendation.action().perkId(),
+					recommendation.confidence(), recommendation.expectedReward(), recommendation.iterations(),
+					duration / 1_000_000, recommendation.iterations() / (duration / 1e9));
+			recommendation.action().playOn(engine);
+		}
+
+		System.out.println(agent.getDayOutcomes());
+		System.out.println(engine.isGameOver() ? "Game over: " + engine.getGameOverReason() : "Still viable after " + engine.getDayNumber() + " days");
+	}
+
+	private static String namesOf(MctsAgent.DayAction action) {
+		StringBuilder names = new StringBuilder();
+		action.plan().tasksByPerson().forEach((personId, tasks) -> names.append(personId).append(": ").append(tasks.stream().map(Task::name).toList()).append(" "));
+		return names.toString().trim();
+	}
+}
@@ -0,0 +1,176 @@
+/**
+ * @file SaveBenchmark.java
+ * @date 18/10/2026
+ * Checks that randomly generated games survive a round trip through the binary save: the loaded game must have the
+ * same state hash, random generator and daily totals, must encode to the same bytes, and must reach the same state as
+ * the saved game when both let time pass, the state kept by the simulation being derived from the saved one. Then measures the encoding
+ * and decoding throughput, the time taken to load a whole district from a file, and the time a save
+ * requested from the interface keeps the caller thread compared to the time taken to write it
+ * Usage: java benchmark.SaveBenchmark [games count] [loads per measure]
+ */
+package benchmark;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import model.AutomationRule;
+import model.Game;
+import model.GameRandom;
+import model.House;
+import model.Person;
+import simulation.GameEngine;
+import utils.SaveFormat;
+import utils.SaveWorker;
+
+public class SaveBenchmark {
+
+	public static void main(String[] args) throws IOException {
+		int gamesCount = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+		int loadsCount = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+		GameRandom random = new GameRandom(42);
+		List<Game> games = new ArrayList<>();
+		for (int i = 0; i < gamesCount; i++) {
+			games.add(randomGame(random));
+		}
+
+		// Round trip of each game
+		int mismatches = 0;
+		for (Game game: games) {
+			ByteBuffer saved = SaveFormat.encode(List.of(game));
+			Game loaded = SaveFormat.decode(saved).get(0);
+			House house = game.getHouse();
+			House loadedHouse = loaded.getHouse();
+			if (!saved.equals(SaveFormat.encode(List.of(loaded))) || game.stateHash() != loaded.stateHash()
+					|| game.getRandom().getState() != loaded.getRandom().getState()
+					|| house.getDailyProduction() != loadedHouse.getDailyProduction()
+					|| house.getDailyMoneyCost() != loadedHouse.getDailyMoneyCost()
+					|| house.getDailyEnergyCost() != loadedHouse.getDailyEnergyCost()
+					|| game.getPerkPipeline().getControllersCount() != loaded.getPerkPipeline().getControllersCount()
+					|| game.getWeather().getDifficultyRate() != loaded.getWeather().getDifficultyRate()) {
+				mismatches++;
+				continue;
+			}
+			Game played = game.copy();
+			played.idle(5);
+			loaded.idle(5);
+			if (played.stateHash() != loaded.stateHash()) {
+				mismatches++;
+			}
+		}
+		System.out.printf("Round trip of %d random games: %d mismatches%n", gamesCount, mismatches);
+
+		// Throughput in memory
+		ByteBuffer save = SaveFormat.encode(games);
+		double megabytes = save.remaining() / 1e6;
+		for (int round = 0; round < 2; round++) { // first round is the warm-up
+			long start = System.nanoTime();
+			for (int i = 0; i < loadsCount; i++) {
+				SaveFormat.encode(games);
+			}
+			long encoding = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0; i < loadsCount; i++) {
+				SaveFormat.decode(save);
+			}
+			long decoding = System.nanoTime() - start;
+			if (round == 1) {
+				System.out.printf("%.2f MB - encoding: %.0f MB/s, decoding: %.0f MB/s%n",
+						megabytes, megabytes * loadsCount / (encoding / 1e9), megabytes * loadsCount / (decoding / 1e9));
+			}
+		}
+
+		// Load of a district from a file
+		Path path = Files.createTempFile("district", ".sav");
+		try {
+			SaveFormat.write(path, games);
+			long slowest = 0;
+			long total = 0;
+			for (int round = 0; round < 2; round++) { // first round is the warm-up
+				total = 0;
+				for (int i = 0; i < loadsCount; i++) {
+					long loadStart = System.nanoTime();
+					SaveFormat.read(path);
+					long duration = System.nanoTime() - loadStart;
+					total += duration;
+					slowest = round == 0 ? 0 : Math.max(slowest, duration);
+				}
+			}
+			System.out.printf("%d games - loaded from a file in %.1f ms on average, %.1f ms at worst%n",
+					gamesCount, total / 1e6 / loadsCount, slowest / 1e6);
+		} finally {
+			Files.delete(path);
+		}
+
+		// Save requested from the interface
+		Path single = Files.createTempFile("game", ".sav");
+		try {
+			SaveWorker worker = new SaveWorker(single, status -> {});
+			long callerTotal = 0;
+			long writeTotal = 0;
+			for (int round = 0; round < 2; round++) { // first round is the warm-up
+				callerTotal = writeTotal = 0;
+				for (int i = 0; i < loadsCount; i++) {
+					long start = System.nanoTime();
+					worker.save(games.get(i));
+					callerTotal += System.nanoTime() - start;
+					worker.awaitIdle(10_000);
+					writeTotal += worker.getStatus().durationNanos();
+				}
+			}
+			System.out.printf("Save of one game - caller thread: %.1f us, background write: %.2f ms%n",
+					callerTotal / 1e3 / loadsCount, writeTotal / 1e6 / loadsCount);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			Files.delete(single);
+		}
+	}
+
+	/**
+	 * Plays a game a random number of days with random tasks, perks, automation rules and an occasional extra person,
+	 * and leaves some tasks picked for the current day
+	 */
+	private static Game randomGame(GameRandom random) {
+		GameEngine engine = new GameEngine(random.nextLong());
+		Game game = engine.getGame();
+		game.getHouse().getFamily().setMoney(2000 + (int) (random.nextDouble() * 8000));
+		if (random.nextDouble() < .3) {
+			game.getHouse().getFamily().addPerson(new Person("Person 2", 2, 5 + (int) (random.nextDouble() * 10)));
+		}
+		int rulesCount = (int) (random.nextDouble() * 4);
+		for (int i = 0; i < rulesCount; i++) {
+			int roomIndex = random.nextDouble() < .5 ? AutomationRule.ALL_ROOMS : (int) (random.nextDouble() * 5);
+			AutomationRule.Action action = pick(AutomationRule.Action.values(), random);
+			AutomationRule.Condition condition = new AutomationRule.Condition(pick(AutomationRule.Input.values(), random),
+					pick(AutomationRule.Comparison.values(), random), (float) (random.nextDouble() * 30));
+			game.getHouse().addAutomationRule(new AutomationRule(roomIndex, List.of(condition), action, 15 + (float) random.nextDouble() * 10));
+		}
+
+		int days = (int) (random.nextDouble() * 6);
+		for (int day = 0; day < days; day++) {
+			if (random.nextDouble() < .5) {
+				engine.buyPerk((int) (random.nextDouble() * 8));
+			}
+			for (Person person: game.getHouse().getFamily().getPersons()) {
+				int tasksCount = 1 + (int) (random.nextDouble() * 4);
+				for (int t = 0; t < tasksCount; t++) {
+					engine.planTask(person.getId(), (int) (random.nextDouble() * 10));
+				}
+			}
+			engine.runRemainingTasks();
+			if (!engine.endDay()) {
+				break;
+			}
+		}
+		engine.planTask(0, (int) (random.nextDouble() * 10));
+		return game;
+	}
+
+	private static <T> T pick(T[] values, GameRandom random) {
+		return values[(int) (random.nextDouble() * values.length)];
+	}
+}
@@ -0,0 +1,64 @@
+/**
+ * @file SnapshotBenchmark.java
+ * @date 18/10/2026
+ * Measures the number of copies of a game and of a large house made per second, alone and followed by a day played on
+ * the copy, which is the pattern of the planners: copy the current game, try a decision, throw the copy away
+ * Usage: java benchmark.SnapshotBenchmark [rooms count] [seconds per measure]
+ */
+package benchmark;
+
+import model.Game;
+import model.GameRandom;
+import model.House;
+import model.PerkPipeline;
+import model.Weather;
+import simulation.GameEngine;
+
+public class SnapshotBenchmark {
+
+	public static void main(String[] args) {
+		int roomsCount = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+		double seconds = args.length > 1 ? Double.parseDouble(args[1]) : 2;
+
+		Game game = new Game(42);
+		House house = HouseUpdateBenchmark.createHouse(roomsCount, new GameRandom(42));
+		Weather weather = new Weather(12f, .5f);
+		PerkPipeline perks = new PerkPipeline();
+
+		for (int round = 0; round < 2; round++) { // first round is the warm-up
+			double gameCopies = measure(seconds, game::copy);
+			double houseCopies = measure(seconds, house::copy);
+			double gameDays = measure(seconds, () -> {
+				GameEngine engine = new GameEngine(game.copy());
+				engine.planTask(0, 6);
+				engine.planTask(1, 4);
+				engine.runRemainingTasks();
+				engine.endDay();
+			});
+			double houseUpdates = measure(seconds, () -> house.copy().update(weather, perks));
+			if (round == 1) {
+				System.out.printf("Game.copy: %.2f M copies/s, copy and play a day: %.0f k/s%n", gameCopies / 1e6, gameDays / 1e3);
+				System.out.printf("%d rooms - House.copy: %.2f M copies/s, copy and update: %.0f k/s%n", roomsCount, houseCopies / 1e6, houseUpdates / 1e3);
+			}
+		}
+	}
+
+	/**
+	 * Runs an operation repeatedly for a given time
+	 * @return the number of operations per second
+	 */
+	private static double measure(double seconds, Runnable operation) {
+		long iterations = 0;
+		long start = System.nanoTime();
+		long end = start + (long) (seconds * 1e9);
+		long now;
+		do {
+			for (int i = 0; i < 100; i++) {
+				operation.run();
+			}
+			iterations += 100;
+			now = System.nanoTime();
+		} while (now < end);
+		return iterations / ((now - start) / 1e9);
+	}
+}
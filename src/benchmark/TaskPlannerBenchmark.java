@@ -0,0 +1,65 @@
+/**
+ * @file TaskPlannerBenchmark.java
+ * @date 18/10/2026
+ * Measures the time taken by the TaskPlanner to plan a day for families of growing size, the planner has to answer fast
+ * enough to run inline in the UI, then prints the plan found for the default family. Each size is measured with an
+ * empty cache of the simulated days, then planned again from the same state, which is answered from the cache. Checks
+ * that a day taken from the cache keeps the seed and the random generator of the game that asked for it
+ * Usage: java benchmark.TaskPlannerBenchmark [max family size] [plans per measure]
+ */
+package benchmark;
+
+import model.Game;
+import model.Person;
+import simulation.DayOutcomeCache;
+import simulation.TaskPlanner;
+
+public class TaskPlannerBenchmark {
+
+	public static void main(String[] args) {
+		int maxFamilySize = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+		int plansCount = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+		DayOutcomeCache dayOutcomes = new DayOutcomeCache(4096);
+		TaskPlanner planner = new TaskPlanner(TaskPlanner.PlanObjective.BALANCED, dayOutcomes);
+
+		TaskPlanner.FamilyPlan plan = planner.plan(new Game(42));
+		plan.tasksByPerson().forEach((personId, tasks) -> System.out.println("Person " + personId + ": " + tasks.stream().map(task -> task.name()).toList()));
+		System.out.printf("Score: %.1f, money: %d, energy: %d, temperature: %.1f, humidity: %.2f, viable: %b%n",
+				plan.score(), plan.money(), plan.energy(), plan.temperature(), plan.humidityRate(), plan.isViable());
+
+		Game other = new Game(7); // same state as the first game, another generator
+		dayOutcomes.playTasks(new Game(42), plan.tasksByPerson());
+		long hits = dayOutcomes.getHits();
+		Game after = dayOutcomes.playTasks(other, plan.tasksByPerson());
+		System.out.printf("Day from the cache: %b, keeps the seed and the generator of the caller: %b%n", dayOutcomes.getHits() > hits,
+				after.getSeed() == other.getSeed() && after.getRandom().getState() == other.getRandom().getState());
+
+		for (int familySize = 2; familySize <= maxFamilySize; familySize *= 2) {
+			Game game = new Game(42);
+			for (int id = 2; id < familySize; id++) {
+				game.getHouse().getFamily().addPerson(new Person("Person " + id, id, 6 + id % 10));
+			}
+			for (int i = 0; i < plansCount; i++) { // warm-up
+				planner.plan(game);
+			}
+			long cold = 0;
+			long slowest = 0;
+			for (int i = 0; i < plansCount; i++) {
+				dayOutcomes.clear();
+				long planStart = System.nanoTime();
+				planner.plan(game);
+				long duration = System.nanoTime() - planStart;
+				cold += duration;
+				slowest = Math.max(slowest, duration);
+			}
+			long warmStart = System.nanoTime();
+			for (int i = 0; i < plansCount; i++) {
+				planner.plan(game);
+			}
+			long warm = System.nanoTime() - warmStart;
+			System.out.printf("%d persons - plan: %.2f ms on average, %.2f ms at worst, %.2f ms from the cache%n",
+					familySize, cold / 1e6 / plansCount, slowest / 1e6, warm / 1e6 / plansCount);
+		}
+		System.out.println(dayOutcomes);
+	}
+}
@@ -0,0 +1,82 @@
+/**
+ * @file AutomationRule.java
+ * @date 18/10/2026
+ * Smart-home automation defined by the player: when all the conditions hold, the action is applied to the room.
+ * For instance "when the room temperature is less than 20 and the outside temperature is greater than 22, open the window".
+ * The rules of a house are compiled into an AutomationTable and evaluated at each update
+ */
+package model;
+
+import java.util.List;
+
+public record AutomationRule(int roomIndex, List<Condition> conditions, Action action, float value) {
+
+	public static final int ALL_ROOMS = -1; // room index of a rule applied to every room of the house
+
+	/**
+	 * Value read by a condition
+	 */
+	public enum Input {
+		ROOM_TEMPERATURE,
+		ROOM_HUMIDITY_RATE,
+		OUTSIDE_TEMPERATURE,
+		OUTSIDE_HUMIDITY_RATE;
+
+		/**
+		 * Tells if the value depends on the weather only, it is then the same for every room
+		 */
+		public boolean isOutside() {
+			return this == OUTSIDE_TEMPERATURE || this == OUTSIDE_HUMIDITY_RATE;
+		}
+	}
+
+	public enum Comparison {
+		LESS_THAN,
+		GREATER_THAN
+	}
+
+	/**
+	 * Action applied to the room, the value is the temperature of the device for TURN_ON_HEATER and TURN_ON_AC
+	 */
+	public enum Action {
+		OPEN_WINDOW,
+		CLOSE_WINDOW,
+		TURN_ON_HEATER,
+		TURN_OFF_HEATER,
+		TURN_ON_AC,
+		TURN_OFF_AC
+	}
+
+	/**
+	 * Compares an input to a threshold
+	 * @param input: value read
+	 * @param comparison: comparison of the value to the threshold
+	 * @param threshold: threshold of the comparison
+	 */
+	public record Condition(Input input, Comparison comparison, float threshold) {}
+
+	public AutomationRule {
+		conditions = List.copyOf(conditions);
+	}
+
+	/**
+	 * Class constructor of a rule for one room
+	 * @param room: room of the house the action is applied to
+	 * @param action: action applied when all the conditions hold
+	 * @param value: temperature of the device, ignored by the other actions
+	 * @param conditions: conditions that must all hold, the action is applied at each update without any condition
+	 */
+	public AutomationRule(Room room, Action action, float value, Condition... conditions) {
+		this(room.getIndex(), List.of(conditions), action, value);
+	}
+
+	/**
+	 * Class constructor of a rule for every room of the house
+	 * @param action: action applied when all the conditions hold
+	 * @param value: temperature of the device, ignored by the other actions
+	 * @param conditions: conditions that must all hold, checked room by room
+	 */
+	public AutomationRule(Action action, float value, Condition... conditions) {
+		this(ALL_ROOMS, List.of(conditions), action, value);
+	}
+}
@@ -0,0 +1,200 @@
+/**
+ * @file AutomationTable.java
+ * @date 18/10/2026
+ * Automation rules compiled into a flat decision table: one row per rule and one cell per condition, stored in arrays.
+ * Each cell holds the position of the value it reads and a signed threshold, so that every condition is the same
+ * comparison whatever its input and its direction. The conditions on the weather are placed first in their row and are
+ * checked once per update for a rule applied to every room, which then reads the columns of the rooms 64 rooms at a time
+ * and keeps the rooms matching all the conditions in a bit mask.
+ * The rows are evaluated in the order the rules have been added, so the last matching rule wins on a room
+ */
+package model;
+
+import java.util.List;
+
+public class AutomationTable {
+
+	// same order as AutomationRule.Input and AutomationRule.Action
+	private static final int ROOM_TEMPERATURE = 0;
+	private static final int ROOM_HUMIDITY_RATE = 1;
+	private static final int OUTSIDE_TEMPERATURE = 2;
+	private static final int OUTSIDE_HUMIDITY_RATE = 3;
+
+	private static final byte OPEN_WINDOW = 0;
+	private static final byte CLOSE_WINDOW = 1;
+	private static final byte TURN_ON_HEATER = 2;
+	private static final byte TURN_OFF_HEATER = 3;
+	private static final byte TURN_ON_AC = 4;
+	private static final byte TURN_OFF_AC = 5;
+
+	private final int rowsCount; // number of rules
+	private final int[] rooms; // room index of each row, ALL_ROOMS for every room
+	private final int[] conditionStarts; // conditions of the row r are at [conditionStarts[r], conditionStarts[r + 1])
+	private final int[] roomConditionStarts; // conditions of the row r reading the room start at roomConditionStarts[r]
+	private final int[] offsets; // position of the value read by each condition in the inputs, relative to the room for ALL_ROOMS
+	private final float[] signs; // 1 for greater than, -1 for less than: the condition holds when sign * value > sign * threshold
+	private final float[] signedThresholds; // sign * threshold of each condition
+	private final byte[] actions; // action of each row
+	private final float[] values; // device temperature of each row
+	private float[] inputs; // values read at the last evaluation: outside temperature and humidity, then the same for each room
+
+	/**
+	 * Compiles rules into a table
+	 * @param rules: rules in the order they are evaluated
+	 */
+	public AutomationTable(List<AutomationRule> rules) {
+		this.rowsCount = rules.size();
+		this.rooms = new int[this.rowsCount];
+		this.conditionStarts = new int[this.rowsCount + 1];
+		this.roomConditionStarts = new int[this.rowsCount];
+		this.actions = new byte[this.rowsCount];
+		this.values = new float[this.rowsCount];
+		int conditionsCount = 0;
+		for (AutomationRule rule: rules) {
+			conditionsCount += rule.conditions().size();
+		}
+		this.offsets = new int[conditionsCount];
+		this.signs = new float[conditionsCount];
+		this.signedThresholds = new float[conditionsCount];
+		this.inputs = new float[2];
+
+		int cell = 0;
+		for (int row = 0; row < this.rowsCount; row++) {
+			AutomationRule rule = rules.get(row);
+			this.rooms[row] = rule.roomIndex();
+			this.actions[row] = (byte) rule.action().ordinal();
+			this.values[row] = rule.value();
+			this.conditionStarts[row] = cell;
+			for (AutomationRule.Condition condition: rule.conditions()) { // weather first
+				if (condition.input().isOutside()) {
+					this.setCell(cell++, condition, condition.input().ordinal() - OUTSIDE_TEMPERATURE);
+				}
+			}
+			this.roomConditionStarts[row] = cell;
+			int roomOffset = rule.roomIndex() == AutomationRule.ALL_ROOMS ? 0 : 2 + 2 * rule.roomIndex();
+			for (AutomationRule.Condition condition: rule.conditions()) {
+				if (!condition.input().isOutside()) {
+					this.setCell(cell++, condition, roomOffset + condition.input().ordinal());
+				}
+			}
+		}
+		this.conditionStarts[this.rowsCount] = cell;
+	}
+
+	private void setCell(int cell, AutomationRule.Condition condition, int offset) {
+		this.offsets[cell] = offset;
+		this.signs[cell] = condition.comparison() == AutomationRule.Comparison.LESS_THAN ? -1 : 1;
+		this.signedThresholds[cell] = this.signs[cell] * condition.threshold();
+	}
+
+	/**
+	 * Applies the rules whose conditions hold to the rooms. The conditions all read the values before the update,
+	 * the actions of a rule do not change the conditions of the next ones
+	 * @param states: columns of the rooms, read by the conditions and changed by the actions
+	 * @param outsideHumidityRate: humidity rate outside the house
+	 * @param outsideTemperature: temperature outside the house
+	 */
+	public void evaluate(RoomStates states, float outsideHumidityRate, float outsideTemperature) {
+		int size = states.size();
+		this.loadInputs(states, size, outsideHumidityRate, outsideTemperature);
+		for (int row = 0; row < this.rowsCount; row++) {
+			int room = this.rooms[row];
+			if (room == AutomationRule.ALL_ROOMS) {
+				if (this.conditionsHold(this.conditionStarts[row], this.roomConditionStarts[row])) {
+					this.evaluateAllRooms(row, states, size);
+				}
+			} else if (room < size && this.conditionsHold(this.conditionStarts[row], this.conditionStarts[row + 1])) {
+				this.apply(row, states, room);
+			}
+		}
+	}
+
+	/**
+	 * Copies the values read by the conditions next to each other, the values of a room are then read in the same cache line
+	 */
+	private void loadInputs(RoomStates states, int size, float outsideHumidityRate, float outsideTemperature) {
+		if (this.inputs.length < 2 + 2 * size) {
+			this.inputs = new float[2 + 2 * size];
+		}
+		float[] temperatures = states.temperatureColumn();
+		float[] humidityRates = states.humidityRateColumn();
+		this.inputs[0] = outsideTemperature;
+		this.inputs[OUTSIDE_HUMIDITY_RATE - OUTSIDE_TEMPERATURE] = outsideHumidityRate;
+		for (int i = 0; i < size; i++) {
+			this.inputs[2 + 2 * i + ROOM_TEMPERATURE] = temperatures[i];
+			this.inputs[2 + 2 * i + ROOM_HUMIDITY_RATE] = humidityRates[i];
+		}
+	}
+
+	/**
+	 * Checks conditions without branching on each of them, only the final result is a branch
+	 */
+	private boolean conditionsHold(int from, int to) {
+		boolean holds = true;
+		for (int cell = from; cell < to; cell++) {
+			holds &= this.signs[cell] * this.inputs[this.offsets[cell]] > this.signedThresholds[cell];
+		}
+		return holds;
+	}
+
+	private void evaluateAllRooms(int row, RoomStates states, int size) {
+		float[] temperatures = states.temperatureColumn();
+		float[] humidityRates = states.humidityRateColumn();
+		for (int from = 0; from < size; from += 64) {
+			int count = Math.min(64, size - from);
+			long mask = count == 64 ? -1L : (1L << count) - 1;
+			for (int cell = this.roomConditionStarts[row]; cell < this.conditionStarts[row + 1] && mask != 0; cell++) {
+				float[] column = this.offsets[cell] == ROOM_TEMPERATURE ? temperatures : humidityRates;
+				float sign = this.signs[cell];
+				float signedThreshold = this.signedThresholds[cell];
+				long matches = 0;
+				for (int bit = 0; bit < count; bit++) {
+					matches |= (sign * column[from + bit] > signedThreshold ? 1L : 0L) << bit;
+				}
+				mask &= matches;
+			}
+			if (mask != 0) {
+				this.apply(row, states, from >>> 6, mask);
+			}
+		}
+	}
+
+	private void apply(int row, RoomStates states, int index) {
+		switch (this.actions[row]) {
+			case OPEN_WINDOW -> states.setWindowOpen(index, true);
+			case CLOSE_WINDOW -> states.setWindowOpen(index, false);
+			case TURN_ON_HEATER -> {
+				states.setHeaterTemperature(index, this.values[row]);
+				states.setHeaterTurnedOn(index, true);
+			}
+			case TURN_OFF_HEATER -> states.setHeaterTurnedOn(index, false);
+			case TURN_ON_AC -> {
+				states.setACTemperature(index, this.values[row]);
+				states.setACTurnedOn(index, true);
+			}
+			case TURN_OFF_AC -> states.setACTurnedOn(index, false);
+		}
+	}
+
+	private void apply(int row, RoomStates states, int word, long mask) {
+		switch (this.actions[row]) {
+			case OPEN_WINDOW -> states.setWindowsOpen(word, mask, true);
+			case CLOSE_WINDOW -> states.setWindowsOpen(word, mask, false);
+			case TURN_ON_HEATER -> states.setHeatersTurnedOn(word, mask, true, this.values[row]);
+			case TURN_OFF_HEATER -> states.setHeatersTurnedOn(word, mask, false, 0);
+			case TURN_ON_AC -> states.setACsTurnedOn(word, mask, true, this.values[row]);
+			case TURN_OFF_AC -> states.setACsTurnedOn(word, mask, false, 0);
+		}
+	}
+
+	/**
+	 * Getters and setters
+	 */
+	public int getRulesCount() {
+		return this.rowsCount;
+	}
+
+	public int getConditionsCount() {
+		return this.conditionStarts[this.rowsCount];
+	}
+}
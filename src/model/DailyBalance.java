@@ -0,0 +1,10 @@
+/**
+ * @file DailyBalance.java
+ * @date 18/10/2026
+ * Money and energy of a house, used to project the balance after the next new day
+ */
+package model;
+
+public record DailyBalance(int money, int energy) {
+
+}
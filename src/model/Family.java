@@ -6,11 +6,13 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 
 public class Family {
 
 	private int money; // money of the family
 	private final ArrayList<Person> persons; // persons members of the family
+	private final HashMap<Integer, Person> personsById; // persons members of the family indexed by their ID
 
 	/**
 	 * Constructors
@@ -18,14 +20,27 @@ public class Family {
 	public Family() {
 		this.money = 500;
 		this.persons = new ArrayList<>();
+		this.personsById = new HashMap<>();
 	}
 	
+	/**
+	 * Copies the family and its persons
+	 * @return the copy
+	 */
+	public Family copy() {
+		Family copy = new Family();
+		copy.money = this.money;
+		this.persons.forEach(person -> copy.addPerson(person.copy()));
+		return copy;
+	}
+
 	/**
 	 * Adds a person to the couple
 	 * @param person : The person to add
 	 */
 	public void addPerson(Person person) {
 		this.persons.add(person);
+		this.personsById.put(person.getId(), person);
 	}
 
 	/**
@@ -43,12 +58,6 @@ public class Family {
 		return persons;
 	}
 	public Person getPersonsFromId(int id) {
-		Person result = null;
-		for (Person person : this.persons) {
-			if (id == person.getId()) {
-				result = person;
-			}
-		}
-		return result;
+		return this.personsById.get(id);
 	}
 }
@@ -6,31 +6,37 @@
 package model;
 
 import java.util.ArrayList;
-import java.util.Objects;
+import java.util.BitSet;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class Game {
 
 	private final House house; // house where the persons live
 	private final Weather weather; // outside weather
 	private int dayNumber; // current day number in the game
-	private final ArrayList<Task> availableTasks; // available tasks the user can pick
-	private final ArrayList<Perk> availablePerks; // available perks
-	private final ArrayList<Perk> boughtPerks; // perks bought
-	private String gameOverReason; // filled when the game is over by the reason
+	private final Registry<Task> availableTasks; // available tasks the user can pick
+	private final Registry<Perk> availablePerks; // available perks
+	private final Registry<Perk> boughtPerks; // perks bought, in the order they have been bought
+	private final BitSet boughtPerkIds; // bit i is set if the perk of ID i has been bought
+	private final PerkPipeline perkPipeline; // effects of the bought perks
+	private Viability gameOverReason; // filled when the game is over by the reason
+	private float gameOverValue; // offending value that ended the game
+	private final long seed; // seed of the random generator, the same seed and the same inputs give the same game
+	private final GameRandom random; // random generator all the stochastic parts of the game draw from
 
 	/**
-	 * Class constructor
+	 * Class constructor with a random seed
 	 */
 	public Game() {
-		this.house = initHouse();
-		this.weather = new Weather();
-		this.dayNumber = 0;
-		this.availableTasks = new ArrayList<>();
-		this.availablePerks = new ArrayList<>();
-		this.boughtPerks = new ArrayList<>();
-		this.gameOverReason = "";
-		initTasks();
-		initPerks();
+		this(ThreadLocalRandom.current().nextLong());
+	}
+
+	/**
+	 * Class constructor
+	 * @param seed: seed of the random generator of the game
+	 */
+	public Game(long seed) {
+		this(seed, new Weather(), 0);
 	}
 	
 	/**
@@ -39,30 +45,110 @@ public class Game {
 	 * @param weather: weather of the environment
 	 */
 	public Game(int dayNumber, Weather weather) {
+		this(ThreadLocalRandom.current().nextLong(), weather, dayNumber);
+	}
+
+	/**
+	 * Class constructor with a given weather, which can be shared with other games
+	 * @param seed: seed of the random generator of the game
+	 * @param weather: weather of the environment
+	 * @param dayNumber: current day number
+	 */
+	public Game(long seed, Weather weather, int dayNumber) {
+		this.seed = seed;
+		this.random = new GameRandom(seed);
 		this.house = initHouse();
 		this.weather = weather;
 		this.dayNumber = dayNumber;
-		this.availableTasks = new ArrayList<>();
-		this.availablePerks = new ArrayList<>();
-		this.boughtPerks = new ArrayList<>();
-		
+		this.availableTasks = new Registry<>(Task::ID);
+		this.availablePerks = new Registry<>(Perk::ID);
+		this.boughtPerks = new Registry<>(Perk::ID);
+		this.boughtPerkIds = new BitSet();
+		this.perkPipeline = new PerkPipeline();
+		this.gameOverReason = Viability.VIABLE;
 		initTasks();
 		initPerks();
 	}
 
+	/**
+	 * Class constructor copying a game, the copy evolves independently
+	 * @param other: game to copy
+	 * @param randomSource: game whose seed and state of the random generator the copy takes
+	 */
+	private Game(Game other, Game randomSource) {
+		this.seed = randomSource.seed;
+		this.random = randomSource.random.copy();
+		this.house = other.house.copy();
+		this.weather = other.weather.copy();
+		this.dayNumber = other.dayNumber;
+		this.availableTasks = other.availableTasks.copy();
+		this.availablePerks = other.availablePerks.copy();
+		this.boughtPerks = other.boughtPerks.copy();
+		this.boughtPerkIds = (BitSet) other.boughtPerkIds.clone();
+		this.perkPipeline = other.perkPipeline.copy();
+		this.gameOverReason = other.gameOverReason;
+		this.gameOverValue = other.gameOverValue;
+	}
+
+	/**
+	 * Copies the whole game, including the state of the random generator: the copy and the game give the same
+	 * results for the same inputs. Used to try out decisions without changing the game
+	 * @return the copy
+	 */
+	public Game copy() {
+		return new Game(this, this);
+	}
+
+	/**
+	 * Copies the game with the seed and the state of the random generator of another game, used to hand out a cached
+	 * state to a game that reached it with another generator
+	 * @param randomSource: game whose seed and random generator the copy takes
+	 * @return the copy
+	 */
+	public Game copyWithRandomOf(Game randomSource) {
+		return new Game(this, randomSource);
+	}
+
+	/**
+	 * Zobrist-style hash of everything the tasks of a day depend on, see StateHash: the house, the weather, the day, the
+	 * perks bought and the definitions of the tasks. The random generator is left out since the tasks do not draw from it
+	 * @return the hash of the game
+	 */
+	public long stateHash() {
+		long hash = this.house.stateHash() ^ this.weather.stateHash()
+				^ StateHash.term(StateHash.GAME, 0, this.dayNumber)
+				^ StateHash.term(StateHash.GAME, 1, this.boughtPerkIds.hashCode());
+		for (Task task: this.availableTasks) {
+			hash ^= StateHash.term(StateHash.AVAILABLE_TASK, task.ID(), task.hashCode());
+		}
+		return hash;
+	}
+
 	/**
 	 * Updates the house and the weather on a new day
 	 * @return True if the house is still viable, false otherwise
 	 */
 	public boolean onNewDay() {
-		String viability = this.house.isViable();
-		if (!Objects.equals(viability, "Viable")) {
+		if (!this.settleDay()) {
+			return false;
+		}
+		this.weather.update(this.dayNumber, this.random);
+		return true;
+	}
+
+	/**
+	 * Updates the house on a new day without changing the weather, used when the weather is shared with other games
+	 * @return True if the house is still viable, false otherwise
+	 */
+	public boolean settleDay() {
+		Viability viability = this.house.isViable();
+		if (viability != Viability.VIABLE) {
 			this.gameOverReason = viability;
+			this.gameOverValue = this.house.getViabilityValue();
 			return false;
 		}
 		this.dayNumber++;
-		this.house.onNewDay(this.boughtPerks);
-		this.weather.update(this.dayNumber);
+		this.house.onNewDay();
 		return true;
 	}
 
@@ -84,7 +170,13 @@ public class Game {
 		family.addPerson(new Person("Jean", 0, 10));
 		family.addPerson(new Person("Marie", 1, 10));
 
-		return new House(18f, .4f, 100, rooms, powerGenerators, family, 21f, .45f);
+		House house = new House(18f, .4f, 100, rooms, powerGenerators, family, 21f, .45f);
+		Room livingRoom = rooms.get(2);
+		house.connectRooms(livingRoom, rooms.get(0), .05f); // kitchen
+		house.connectRooms(livingRoom, rooms.get(1), .05f); // bedroom
+		house.connectRooms(livingRoom, rooms.get(4), .05f); // office
+		house.connectRooms(rooms.get(1), rooms.get(3), .05f); // bedroom and bathroom
+		return house;
 	}
 
 	/**
@@ -108,14 +200,21 @@ public class Game {
 	 * Instantiates the perks
 	 */
 	private void initPerks() {
-		this.availablePerks.add(new Perk(0, "Automatic windows", 1000, 100, 100));
-		this.availablePerks.add(new Perk(1, "Automatic AC and heaters", 1500, 150, 100));
-		this.availablePerks.add(new Perk(2, "Better mattress", 1000, 0, 0));
-		this.availablePerks.add(new Perk(3, "Cooking robot", 1000, 0, 50));
-		this.availablePerks.add(new Perk(4, "Solar panels (100 daily energy)", 2000, 0, 0)); // power generators are special perks
-		this.availablePerks.add(new Perk(5, "Wind turbine (100 daily energy)", 2000, 0, 0));
-		this.availablePerks.add(new Perk(6, "Isolate rooms at 65%", 2000, 0, 0));
-		this.availablePerks.add(new Perk(7, "Isolate rooms at 90%", 5000, 0, 0));
+		PerkEffect isolateAt90 = new PerkEffect.Modifier(game -> {
+			game.getHouse().setAllIsolationRates(.9f);
+			game.getAvailablePerks().remove(6); // remove lower isolation level is the player bought the higher one
+		});
+		this.availablePerks.add(new Perk(0, "Automatic windows", 1000, 100, 100, new PerkEffect.Controller(House::automateWindows)));
+		this.availablePerks.add(new Perk(1, "Automatic AC and heaters", 1500, 150, 100, new PerkEffect.Controller(House::automateHeatersAndAC)));
+		this.availablePerks.add(new Perk(2, "Better mattress", 1000, 0, 0, new PerkEffect.TaskReplacement(new Task(7, "Sleep", "Sleeping.", 3, 0, 0))));
+		this.availablePerks.add(new Perk(3, "Cooking robot", 1000, 0, 50, new PerkEffect.TaskReplacement(new Task(9, "Cook", "Cooking and eating.", 3, -50, -30))));
+		this.availablePerks.add(new Perk(4, "Solar panels (100 daily energy)", 2000, 0, 0, new PerkEffect.GeneratorAddition(new PowerGenerator("Solar panel", 2000, 50, 100)))); // power generators are special perks
+		this.availablePerks.add(new Perk(5, "Wind turbine (100 daily energy)", 2000, 0, 0, new PerkEffect.GeneratorAddition(new PowerGenerator("Wind turbine", 2000, 50, 100))));
+		this.availablePerks.add(new Perk(6, "Isolate rooms at 65%", 2000, 0, 0, new PerkEffect.Modifier(game -> {
+			game.getHouse().setAllIsolationRates(.65f);
+			game.getAvailablePerks().replace(new Perk(7, "Isolate rooms at 90%", 2500, 0, 0, isolateAt90)); // cheaper once the first level is installed
+		})));
+		this.availablePerks.add(new Perk(7, "Isolate rooms at 90%", 5000, 0, 0, isolateAt90));
 	}
 
 	/**
@@ -131,66 +230,61 @@ public class Game {
 	/**
 	 * Buys a perk from its id. Has different effect depending on the perk
 	 * @param id: id of the perk to buy
+	 * @return true if the perk has been bought, false if it is not available or not affordable
 	 */
-	public void buyPerkFromId(int id) {
-		for (Perk perk: this.availablePerks) {
-			if (perk.ID() == id) {
-				if (this.canAffordPerk(perk)) {
-                    addPerkFromID(id);
-                    this.house.getFamily().setMoney(this.house.getFamily().getMoney() - perk.installationCost());
-				}
-				break;
-			}
+	public boolean buyPerkFromId(int id) {
+		Perk perk = this.availablePerks.get(id);
+		if (perk == null || !this.canAffordPerk(perk)) {
+			return false;
 		}
+		addPerkFromID(id);
+		this.house.getFamily().setMoney(this.house.getFamily().getMoney() - perk.installationCost());
+		return true;
 	}
 
 	/**
-	 * Adds a perk from its id
+	 * Adds a perk from its id and installs its effects
 	 * @param id: id of the perk
 	 */
 	public void addPerkFromID(int id) {
-		for (Perk perk: this.availablePerks) {
-			if (perk.ID() == id) {
-				this.availablePerks.remove(perk);
-				this.boughtPerks.add(perk);
-				switch (perk.ID()) {
-					case 2 -> this.availableTasks.set(this.availableTasks.indexOf(this.findTaskFromId(7)), new Task(7, "Sleep", "Sleeping.", 3, 0, 0));
-					case 3 -> this.availableTasks.set(this.availableTasks.indexOf(this.findTaskFromId(9)), new Task(9, "Cook", "Cooking and eating.", 3, -50, -30));
-					case 4 -> this.house.addPowerSupply(new PowerGenerator("Solar panel", 2000, 50, 100));
-					case 5 -> this.house.addPowerSupply(new PowerGenerator("Wind turbine", 2000, 50, 100));
-					case 6 -> {
-						this.house.getRooms().forEach(room -> room.setIsolationRate(.65f));
-						for (Perk availablePerk: this.availablePerks) {
-							if (availablePerk.ID() == 7) {
-								this.availablePerks.set(this.availablePerks.indexOf(availablePerk), new Perk(7, "Isolate rooms at 90%", 2500, 0, 0));
-							}
-						}
-					}
-					case 7 -> {
-						this.house.getRooms().forEach(room -> room.setIsolationRate(.9f));
-						this.availablePerks.removeIf(availablePerk -> availablePerk.ID() == 6); // remove lower isolation level is the player bought the higher one
-					}
-				}
-			    break;
-			}
+		Perk perk = this.availablePerks.remove(id);
+		if (perk == null) {
+			return;
 		}
+		this.boughtPerks.add(perk);
+		this.boughtPerkIds.set(id);
+		this.perkPipeline.install(perk, this);
 	}
+
+	/**
+	 * Restores the perks of a saved game without running their one-shot effects again, the state they changed is
+	 * restored from the save. Must be called once, on a game just created
+	 * @param available: perks available, in their order
+	 * @param bought: perks bought, in the order they have been bought
+	 */
+	public void restorePerks(Iterable<Perk> available, Iterable<Perk> bought) {
+		this.availablePerks.clear();
+		available.forEach(this.availablePerks::add);
+		this.boughtPerks.clear();
+		this.boughtPerkIds.clear();
+		for (Perk perk: bought) {
+			this.boughtPerks.add(perk);
+			this.boughtPerkIds.set(perk.ID());
+			this.perkPipeline.restore(perk, this);
+		}
+	}
+
 	/**
 	 * Finds a Task in all tasks using its ID
 	 * @param id: ID of the task
 	 * @return the Task corresponding to the ID
 	 */
 	public Task findTaskFromId(int id) {
-		if (id >= 0 && id < availableTasks.size()) {
-			for (Task task : availableTasks) {
-				if (task.ID() == id) {
-					return task;
-				}
-			}
-		} else {
+		Task task = this.availableTasks.get(id);
+		if (task == null) {
 			System.out.println("Error system in Playing : ID not recognized");
 		}
-		return null;
+		return task;
 	}
 
 	/**
@@ -201,26 +295,69 @@ public class Game {
 		this.house.getFamily().getPersons().forEach(person -> {
 			if (n < person.getTasks().size()) {
 				Task currentTask = person.getTasks().get(n);
-				float heaterTemp = 23;
-				float ACTemperature = 18; // Hard coded for the moment, has to depend on the UI entry later
-				switch (currentTask.ID()) {
-					case 0 -> this.house.setAllHeatersTemperature(heaterTemp); // turn on all heaters
-					case 1 -> this.house.turnOffAllHeaters(); // turn off all heaters
-					case 2 -> this.house.setAllACTemperature(ACTemperature); // turn on all AC
-					case 3 -> this.house.turnOffAllAC(); // turn off all AC
-					case 4 -> this.house.setAllWindowsOpen(true); // open all windows
-					case 5 -> this.house.setAllWindowsOpen(false); // close all windows
-					case 6 -> {} // work
-					case 7 -> {} // sleep
-					case 8 -> {} // bike
-					case 9 -> {} // cook
-				}
-				person.setStamina(person.getStamina() + currentTask.stamina());
-				this.house.getFamily().setMoney(this.house.getFamily().getMoney() + currentTask.money());
-				this.house.setEnergy(this.house.getEnergy() + currentTask.energy());
+				this.startTask(currentTask);
+				this.completeTask(person, currentTask);
 			}
 		});
-		this.house.update(this.weather, this.boughtPerks);
+		this.house.update(this.weather, this.perkPipeline);
+	}
+
+	/**
+	 * Applies the effect of a task on the devices of the house, done when the task starts
+	 * @param task: task starting
+	 */
+	public void startTask(Task task) {
+		float heaterTemp = 23;
+		float ACTemperature = 18; // Hard coded for the moment, has to depend on the UI entry later
+		switch (task.ID()) {
+			case 0 -> this.house.setAllHeatersTemperature(heaterTemp); // turn on all heaters
+			case 1 -> this.house.turnOffAllHeaters(); // turn off all heaters
+			case 2 -> this.house.setAllACTemperature(ACTemperature); // turn on all AC
+			case 3 -> this.house.turnOffAllAC(); // turn off all AC
+			case 4 -> this.house.setAllWindowsOpen(true); // open all windows
+			case 5 -> this.house.setAllWindowsOpen(false); // close all windows
+			case 6 -> {} // work
+			case 7 -> {} // sleep
+			case 8 -> {} // bike
+			case 9 -> {} // cook
+		}
+	}
+
+	/**
+	 * Tells if a task switches devices or windows of the house when it starts, in addition to its stamina, money and energy
+	 * @param task: task to test
+	 * @return true if the task changes the devices, false otherwise
+	 */
+	public static boolean switchesDevices(Task task) {
+		return switch (task.ID()) {
+			case 0, 1, 2, 3, 4, 5 -> true;
+			default -> false;
+		};
+	}
+
+	/**
+	 * Applies the stamina, money and energy of a task, done when the task is completed
+	 * @param person: person doing the task
+	 * @param task: task completed
+	 */
+	public void completeTask(Person person, Task task) {
+		person.setStamina(person.getStamina() + task.stamina());
+		this.house.getFamily().setMoney(this.house.getFamily().getMoney() + task.money());
+		this.house.setEnergy(this.house.getEnergy() + task.energy());
+	}
+
+	/**
+	 * Lets time pass for a number of task slots during which nobody does anything
+	 * @param steps: number of idle task slots
+	 */
+	public void idle(int steps) {
+		if (this.perkPipeline.getControllersCount() > 0 || this.house.hasAutomationRules()) { // controllers and rules can change the devices at each update
+			for (int i = 0; i < steps; i++) {
+				this.house.update(this.weather, this.perkPipeline);
+			}
+		} else {
+			this.house.fastForward(steps, this.weather);
+		}
 	}
 
 	/**
@@ -234,32 +371,55 @@ public class Game {
 		return this.weather;
 	}
 
-	public ArrayList<Task> getAvailableTasks() {
+	public Registry<Task> getAvailableTasks() {
 		return this.availableTasks;
 	}
 
+	public long getSeed() {
+		return this.seed;
+	}
+
+	public GameRandom getRandom() {
+		return this.random;
+	}
+
 	public int getDayNumber() {
 		return this.dayNumber;
 	}
 
+	/**
+	 * Builds the message explaining why the game is over
+	 * @return the reason of the game over as a String, an empty String if the game is not over
+	 */
 	public String getGameOverReason() {
+		return this.gameOverReason.describe(this.gameOverValue);
+	}
+
+	public Viability getGameOverViability() {
 		return this.gameOverReason;
 	}
 
+	public float getGameOverValue() {
+		return this.gameOverValue;
+	}
+
 	public Perk getPerkById(int id) {
-		for (Perk perk: this.availablePerks) {
-			if (perk.ID() == id) {
-				return perk;
-			}
-		}
-		return null;
+		return this.availablePerks.get(id);
 	}
 
-	public ArrayList<Perk> getAvailablePerks() {
+	public Registry<Perk> getAvailablePerks() {
 		return this.availablePerks;
 	}
 
-	public ArrayList<Perk> getBoughtPerks() {
+	public Registry<Perk> getBoughtPerks() {
 		return this.boughtPerks;
 	}
+
+	public PerkPipeline getPerkPipeline() {
+		return this.perkPipeline;
+	}
+
+	public boolean hasBoughtPerk(int id) {
+		return this.boughtPerkIds.get(id);
+	}
 }
\ No newline at end of file
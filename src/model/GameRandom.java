@@ -0,0 +1,82 @@
+/**
+ * @file GameRandom.java
+ * @date 18/10/2026
+ * Seedable and splittable random generator (SplitMix64) owned by a game. All the stochastic parts of the model draw from it
+ * so that the same seed and the same inputs always give the same game
+ */
+package model;
+
+public class GameRandom {
+
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L; // increment of the state, odd constant from the golden ratio
+
+	private long state; // current state of the generator
+
+	/**
+	 * Class constructor
+	 * @param seed: seed of the generator
+	 */
+	public GameRandom(long seed) {
+		this.state = seed;
+	}
+
+	/**
+	 * Mixes the bits of a value (finalizer of SplitMix64)
+	 * @param z: value to mix
+	 * @return the mixed value
+	 */
+	static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * @return the next pseudo random long
+	 */
+	public long nextLong() {
+		this.state += GOLDEN_GAMMA;
+		return mix(this.state);
+	}
+
+	/**
+	 * @return the next pseudo random double in [0, 1), replaces Math.random()
+	 */
+	public double nextDouble() {
+		return (this.nextLong() >>> 11) * 0x1.0p-53;
+	}
+
+	/**
+	 * @return the next pseudo random boolean
+	 */
+	public boolean nextBoolean() {
+		return this.nextLong() < 0;
+	}
+
+	/**
+	 * Copies the generator, the copy draws the same values as this one from now on
+	 * @return the copy
+	 */
+	public GameRandom copy() {
+		return new GameRandom(this.state);
+	}
+
+	/**
+	 * Creates a new independent generator seeded from this one, used to give its own generator to a child simulation
+	 * @return the new generator
+	 */
+	public GameRandom split() {
+		return new GameRandom(this.nextLong());
+	}
+
+	/**
+	 * Getters and setters
+	 */
+	public long getState() {
+		return this.state;
+	}
+
+	public void setState(long state) {
+		this.state = state;
+	}
+}
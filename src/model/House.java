@@ -6,19 +6,34 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import static java.lang.Math.round;
 
 public class House {
 
+	public static final int LABEL_KEY_LENGTH = 3; // longs of the key of the displayed house, see labelKey
+
 	private float temperature; // temperature inside the house
 	private float humidityRate; // humidity rate inside the house
 	private int energy; // energy available in the house
 	// private boolean isOnPowerOutage; // power outage, not yet implemented
-	private final ArrayList<Room> rooms; // rooms of the house
+	private ArrayList<Room> rooms; // views on the rooms of the house, built on first use in a copy
+	private final String[] roomNames; // names of the rooms by index, shared with the copies to build their views
+	private final RoomStates roomStates; // state of the rooms stored as columns
+	private final RoomGraph roomGraph; // connections between the rooms exchanging heat and humidity
+	private ArrayList<AutomationRule> automationRules; // automations defined by the player, shared with the copies until changed
+	private boolean areAutomationRulesShared; // true when the automation rules are shared with a copy
+	private long automationRulesHash; // Zobrist-style hash of the automation rules, updated when they change
+	private AutomationTable automationTable; // automation rules compiled, null when rules have changed since the last compilation
 	private final ArrayList<PowerGenerator> powerSupply; // daily energy supplies of the house
+	private int dailyProduction; // total daily energy production of the power generators
+	private int dailyMoneyCost; // total daily money cost of the power generators and the perks
+	private int dailyEnergyCost; // total daily energy cost of the perks
 	private final Family family; // members of the house
 	private final float optimalTemperature; // optimal viable temperature inside
 	private final float optimalHumidityRate; // optimal viable humidity rate inside
+	private float viabilityValue; // offending value found by the last viability check that failed
 	
 	/**
 	 * Class constructor
@@ -29,82 +44,244 @@ public class House {
 		this.energy = energy;
 		// this.isOnPowerOutage = isOnPowerOutage;
 		this.rooms = rooms;
+		this.roomStates = new RoomStates(rooms.size());
+		this.rooms.forEach(room -> room.attach(this.roomStates));
+		this.roomNames = rooms.stream().map(Room::getName).toArray(String[]::new);
+		this.roomGraph = new RoomGraph();
+		this.automationRules = new ArrayList<>();
 		this.powerSupply = powerSupply;
+		this.powerSupply.forEach(powerGenerator -> {
+			this.dailyProduction += powerGenerator.getDailyProduction();
+			this.dailyMoneyCost += powerGenerator.getDailyCost();
+		});
 		this.family = family;
 		this.optimalTemperature = optimalTemperature;
 		this.optimalHumidityRate = optimalHumidityRate;
 	}
 	
 	/**
-	 * Tells if the home is still viable or not, used to determine if the player can keep playing
-	 * @return "Viable" if the house is still viable, the reason of the non-viability as a String otherwise.
+	 * Class constructor copying a house, the copy evolves independently. The columns of the rooms, the connections and
+	 * the automation rules are shared until either side changes them, the views on the rooms are built on first use
+	 * @param other: house to copy
+	 */
+	private House(House other) {
+		this.temperature = other.temperature;
+		this.humidityRate = other.humidityRate;
+		this.energy = other.energy;
+		this.roomStates = other.roomStates.copy();
+		this.rooms = null;
+		this.roomNames = other.roomNames;
+		this.roomGraph = other.roomGraph.copy();
+		this.automationRules = other.automationRules;
+		this.areAutomationRulesShared = other.areAutomationRulesShared = true;
+		this.automationRulesHash = other.automationRulesHash;
+		this.powerSupply = new ArrayList<>(other.powerSupply);
+		this.dailyProduction = other.dailyProduction;
+		this.dailyMoneyCost = other.dailyMoneyCost;
+		this.dailyEnergyCost = other.dailyEnergyCost;
+		this.family = other.family.copy();
+		this.optimalTemperature = other.optimalTemperature;
+		this.optimalHumidityRate = other.optimalHumidityRate;
+		this.viabilityValue = other.viabilityValue;
+	}
+
+	/**
+	 * Copies the house with its rooms, connections, automation rules and family, used to simulate what-if scenarios.
+	 * The cost of the copy does not depend on the number of rooms. Must not be called while another thread changes the house
+	 * @return the copy
 	 */
-	public String isViable() {
+	public House copy() {
+		return new House(this);
+	}
+
+	/**
+	 * Zobrist-style hash of the house, see StateHash. The rooms are hashed again at each call since every update changes
+	 * all of them, the hashes of the connections and of the automation rules are kept up to date when they change
+	 * @return the hash of the rooms, connections, automation rules, resources and persons with their tasks
+	 */
+	public long stateHash() {
+		long hash = this.roomStates.stateHash() ^ this.roomGraph.stateHash() ^ this.automationRulesHash
+				^ StateHash.term(StateHash.HOUSE, 0, this.temperature)
+				^ StateHash.term(StateHash.HOUSE, 1, this.humidityRate)
+				^ StateHash.term(StateHash.HOUSE, 2, this.energy)
+				^ StateHash.term(StateHash.HOUSE, 3, this.family.getMoney());
+		for (Person person: this.family.getPersons()) {
+			hash ^= StateHash.term(StateHash.PERSON, person.getId(), (long) person.getStamina() << 32 | person.getMaxStamina() & 0xffffffffL);
+			ArrayList<Task> tasks = person.getTasks();
+			for (int i = 0; i < tasks.size(); i++) {
+				hash ^= StateHash.term(StateHash.PERSON_TASK, person.getId() << 16 | i, tasks.get(i).hashCode());
+			}
+		}
+		return hash;
+	}
+
+	/**
+	 * Tells if the home is still viable or not, used to determine if the player can keep playing.
+	 * The offending value is then available with getViabilityValue
+	 * @return VIABLE if the house is still viable, the reason of the non-viability otherwise
+	 */
+	public Viability isViable() {
 		if (temperature > optimalTemperature + 10) {
-			return "Temperature too high: " + round(temperature * 10) + "°C";
+			return this.notViable(Viability.TEMPERATURE_TOO_HIGH, temperature);
 		}
 		if (temperature < optimalTemperature - 10) {
-			return "Temperature too low: " + round(temperature * 10) + "°C";
+			return this.notViable(Viability.TEMPERATURE_TOO_LOW, temperature);
 		}
 		if (humidityRate > optimalHumidityRate + .2) {
-			return "Humidity too high: " + round(humidityRate * 100) + "%";
+			return this.notViable(Viability.HUMIDITY_TOO_HIGH, humidityRate);
 		}
 		if (humidityRate < optimalHumidityRate - .2) {
-			return "Humidity too low: " + round(humidityRate * 100)+ "%";
+			return this.notViable(Viability.HUMIDITY_TOO_LOW, humidityRate);
 		}
 		if (this.family.getMoney() < 0) {
-			return "Not enough money to continue";
+			return this.notViable(Viability.NOT_ENOUGH_MONEY, this.family.getMoney());
 		}
 		if (this.energy < 0) {
-			return "Not enough energy to continue";
+			return this.notViable(Viability.NOT_ENOUGH_ENERGY, this.energy);
 		}
-		return "Viable";
+		return Viability.VIABLE;
+	}
+
+	private Viability notViable(Viability reason, float value) {
+		this.viabilityValue = value;
+		return reason;
 	}
 
 	/**
-	 * Updates all the house elements according to the current weather and perks
+	 * Updates all the house elements according to the current weather, perks and automation rules.
+	 * The automation rules run after the perks so that the choices of the player have the last word
 	 * @param weather: weather of the environment
+	 * @param perks: perks bought, runs their controllers
 	 */
-	public void update(Weather weather, ArrayList<Perk> perks) {
-		this.temperature = 0;
-		this.humidityRate = 0;
-
-		for (Room room: rooms) {
-			room.update(weather.getHumidityRate(), weather.getTemperature());
-			this.temperature += room.getTemperature() / this.rooms.size();
-			this.humidityRate += room.getHumidityRate() / this.rooms.size();
-		}
+	public void update(Weather weather, PerkPipeline perks) {
+		this.roomStates.update(weather.getHumidityRate(), weather.getTemperature());
+		this.roomStates.exchange(this.roomGraph);
+		this.temperature = this.roomStates.averageTemperature();
+		this.humidityRate = this.roomStates.averageHumidityRate();
 		/*
 		if (weather.isLightning() && Math.random() < .1) {
 			this.isOnPowerOutage = true;
 		}
 		*/
-		for (Perk perk: perks) {
-			switch (perk.ID()) {
-				case 0: // automatic windows
-					this.setAllWindowsOpen(temperature < this.optimalTemperature && temperature < weather.getTemperature() ||
-											temperature > this.optimalTemperature && temperature > weather.getTemperature()); // if the temperature is better outside
-				case 1: // automatic heaters and AC
-					if (this.rooms.get(0).isWindowOpen()) {
-						break;
-					}
-					if (temperature < this.optimalTemperature) {
-						this.setAllHeatersTemperature(this.optimalTemperature);
-						this.turnOffAllAC();
-					} else {
-						this.setAllACTemperature(this.optimalTemperature);
-						this.turnOffAllHeaters();
-					}
-					break;
+		perks.onUpdate(this, weather);
+		if (!this.automationRules.isEmpty()) {
+			if (this.automationTable == null) {
+				this.automationTable = new AutomationTable(this.automationRules);
 			}
+			this.automationTable.evaluate(this.roomStates, weather.getHumidityRate(), weather.getTemperature());
 		}
 
-		for (Room room: rooms) {
-			if (room.isHeaterTurnedOn() || room.isACTurnedOn()) {
-				this.energy -= 5;
+		this.energy -= 5 * this.roomStates.countRoomsWithDeviceOn();
+	}
+
+	/**
+	 * Applies a number of updates at once when nothing changes the devices in the meantime (no task, no automation perk or rule).
+	 * The rooms jump directly to their state after the updates, unless connected rooms are in different states,
+	 * in which case the updates are applied one by one
+	 * @param steps: number of updates to apply
+	 * @param weather: weather of the environment
+	 */
+	public void fastForward(int steps, Weather weather) {
+		if (steps <= 0) {
+			return;
+		}
+		if (this.roomGraph.getConnectionsCount() == 0 || this.roomStates.isUniform()) {
+			this.roomStates.fastForward(steps, weather.getHumidityRate(), weather.getTemperature());
+		} else {
+			for (int i = 0; i < steps; i++) {
+				this.roomStates.update(weather.getHumidityRate(), weather.getTemperature());
+				this.roomStates.exchange(this.roomGraph);
 			}
 		}
+		this.temperature = this.roomStates.averageTemperature();
+		this.humidityRate = this.roomStates.averageHumidityRate();
+		this.energy -= 5 * steps * this.roomStates.countRoomsWithDeviceOn();
+	}
+
+	/**
+	 * Connects two rooms of the house so that they exchange heat and humidity at each task
+	 * @param room1: first room
+	 * @param room2: second room
+	 * @param conductance: part of the difference exchanged at each task, the sum for a room must stay below .5
+	 * @throws IllegalArgumentException if a room is not in the house, if the conductance is not positive or if the sum of
+	 * the conductances of one of the rooms would reach .5
+	 */
+	public void connectRooms(Room room1, Room room2, float conductance) {
+		this.roomGraph.connect(room1.getIndex(), room2.getIndex(), conductance, this.roomStates.size());
+	}
+
+	/**
+	 * Adds an automation rule, evaluated at each update after the rules already added
+	 * @param rule: rule to add
+	 * @return true if the rule has been added, false if its room is not in the house
+	 */
+	public boolean addAutomationRule(AutomationRule rule) {
+		if (rule.roomIndex() != AutomationRule.ALL_ROOMS && (rule.roomIndex() < 0 || rule.roomIndex() >= this.roomStates.size())) {
+			return false;
+		}
+		this.ownAutomationRules();
+		this.automationRulesHash ^= StateHash.term(StateHash.AUTOMATION_RULE, this.automationRules.size(), rule.hashCode());
+		this.automationRules.add(rule);
+		this.automationTable = null;
+		return true;
+	}
+
+	/**
+	 * Removes an automation rule
+	 * @param rule: rule to remove
+	 * @return true if the rule has been removed, false if it was not added
+	 */
+	public boolean removeAutomationRule(AutomationRule rule) {
+		this.ownAutomationRules();
+		if (!this.automationRules.remove(rule)) {
+			return false;
+		}
+		this.automationRulesHash = 0; // the rules after the removed one moved
+		for (int i = 0; i < this.automationRules.size(); i++) {
+			this.automationRulesHash ^= StateHash.term(StateHash.AUTOMATION_RULE, i, this.automationRules.get(i).hashCode());
+		}
+		this.automationTable = null;
+		return true;
+	}
 
+	public void clearAutomationRules() {
+		this.automationRules = new ArrayList<>();
+		this.areAutomationRulesShared = false;
+		this.automationRulesHash = 0;
+		this.automationTable = null;
+	}
+
+	private void ownAutomationRules() {
+		if (this.areAutomationRulesShared) {
+			this.automationRules = new ArrayList<>(this.automationRules);
+			this.areAutomationRulesShared = false;
+		}
+	}
+
+	/**
+	 * Controller of the automatic windows perk: opens the windows if the temperature is better outside
+	 * @param weather: weather of the environment
+	 */
+	public void automateWindows(Weather weather) {
+		this.setAllWindowsOpen(temperature < this.optimalTemperature && temperature < weather.getTemperature() ||
+								temperature > this.optimalTemperature && temperature > weather.getTemperature());
+	}
+
+	/**
+	 * Controller of the automatic heaters and AC perk: heats or cools toward the optimal temperature while the windows are closed
+	 * @param weather: weather of the environment
+	 */
+	public void automateHeatersAndAC(Weather weather) {
+		if (this.roomStates.isWindowOpen(0)) {
+			return;
+		}
+		if (temperature < this.optimalTemperature) {
+			this.setAllHeatersTemperature(this.optimalTemperature);
+			this.turnOffAllAC();
+		} else {
+			this.setAllACTemperature(this.optimalTemperature);
+			this.turnOffAllHeaters();
+		}
 	}
 
 	/**
@@ -112,7 +289,7 @@ public class House {
 	 * @param status: true if the windows will be open, false otherwise
 	 */
 	public void setAllWindowsOpen(boolean status) {
-		this.rooms.forEach(room -> room.setWindowOpen(status));
+		this.roomStates.setAllWindowsOpen(status);
 	}
 
 	/**
@@ -120,17 +297,14 @@ public class House {
 	 * @param temperature: temperature of the heaters
 	 */
 	public void setAllHeatersTemperature(float temperature) {
-		this.rooms.forEach(room -> {
-			room.setHeaterTemperature(temperature);
-			room.setHeaterTurnedOn(true);
-		});
+		this.roomStates.setAllHeatersTemperature(temperature);
 	}
 
 	/**
 	 * Turns off all the heaters of the house
 	 */
 	public void turnOffAllHeaters() {
-		this.rooms.forEach(room -> room.setHeaterTurnedOn(false));
+		this.roomStates.turnOffAllHeaters();
 	}
 
 	/**
@@ -138,36 +312,66 @@ public class House {
 	 * @param temperature: temperature of the ACs
 	 */
 	public void setAllACTemperature(float temperature) {
-		this.rooms.forEach(room -> {
-			room.setACTemperature(temperature);
-			room.setACTurnedOn(true);
-		});
+		this.roomStates.setAllACTemperature(temperature);
 	}
 
 	/**
 	 * Turns off all the ACs of the house
 	 */
 	public void turnOffAllAC() {
-		this.rooms.forEach(room -> room.setACTurnedOn(false));
+		this.roomStates.turnOffAllAC();
 	}
 
 	/**
-	 * Called at each new day
+	 * Sets the isolation rate of the walls of all the rooms
+	 * @param isolationRate: isolation rate of the walls ([0,1])
 	 */
-	public void onNewDay(ArrayList<Perk> perks) {
-		this.powerSupply.forEach(powerGenerator -> {
-			this.energy += powerGenerator.getDailyProduction();
-			this.family.setMoney(this.family.getMoney() - powerGenerator.getDailyCost());
-		});
+	public void setAllIsolationRates(float isolationRate) {
+		this.roomStates.setAllIsolationRates(isolationRate);
+	}
+
+	/**
+	 * Called at each new day, settles the daily production and costs kept up to date when generators and perks are added
+	 */
+	public void onNewDay() {
+		this.energy += this.dailyProduction - this.dailyEnergyCost;
+		this.family.setMoney(this.family.getMoney() - this.dailyMoneyCost);
 		this.getFamily().getPersons().forEach(Person::onNewDay);
-		perks.forEach(perk -> {
-			this.energy -= perk.dailyEnergyCost();
-			this.family.setMoney(this.family.getMoney() - perk.dailyMoneyCost());
-		});
+	}
+
+	/**
+	 * Computes the money and energy the house will have after the next new day, without changing anything
+	 * @return the projected balance
+	 */
+	public DailyBalance projectNextDayBalance() {
+		return new DailyBalance(this.family.getMoney() - this.dailyMoneyCost, this.energy + this.dailyProduction - this.dailyEnergyCost);
 	}
 
 	public void addPowerSupply(PowerGenerator powerGenerator) {
 		this.powerSupply.add(powerGenerator);
+		this.dailyProduction += powerGenerator.getDailyProduction();
+		this.dailyMoneyCost += powerGenerator.getDailyCost();
+	}
+
+	/**
+	 * Adds a daily cost to settle at each new day, used by the perks
+	 * @param moneyCost: daily money cost
+	 * @param energyCost: daily energy cost
+	 */
+	public void addDailyCost(int moneyCost, int energyCost) {
+		this.dailyMoneyCost += moneyCost;
+		this.dailyEnergyCost += energyCost;
+	}
+
+	/**
+	 * Key of the values displayed by toString, without building the String: the displayed house changes if and only if
+	 * its key changes. The rounded values and the bits of the temperatures of the devices are packed as they are
+	 * @param key: filled with the key, LABEL_KEY_LENGTH longs
+	 */
+	public void labelKey(long[] key) {
+		key[0] = (long) round(this.temperature * 10) << 32 | round(this.humidityRate * 100) & 0xffffffffL;
+		key[1] = (long) Float.floatToIntBits(this.roomStates.getHeaterTemperature(0)) << 32 | Float.floatToIntBits(this.roomStates.getACTemperature(0)) & 0xffffffffL;
+		key[2] = (this.roomStates.isWindowOpen(0) ? 1 : 0) | (this.roomStates.isHeaterTurnedOn(0) ? 2 : 0) | (this.roomStates.isACTurnedOn(0) ? 4 : 0);
 	}
 
 	/**
@@ -175,15 +379,19 @@ public class House {
 	 * @return the main infos of the house as a String
 	 */
 	public String toString() {
-		String windowsStatus = this.rooms.get(0).isWindowOpen() ? "Open" : "Closed";
-		String heatersStatus = this.rooms.get(0).isHeaterTurnedOn() ? this.rooms.get(0).getHeaterTemperature() + "°C" : "Off";
-		String ACStatus = this.rooms.get(0).isACTurnedOn() ? this.rooms.get(0).getACTemperature() + "°C" : "Off";
+		String windowsStatus = this.roomStates.isWindowOpen(0) ? "Open" : "Closed";
+		String heatersStatus = this.roomStates.isHeaterTurnedOn(0) ? this.roomStates.getHeaterTemperature(0) + "°C" : "Off";
+		String ACStatus = this.roomStates.isACTurnedOn(0) ? this.roomStates.getACTemperature(0) + "°C" : "Off";
 		return "House - T: " + (float)round(temperature * 10) / 10 + "°C, humidity: " + round(humidityRate * 100) + "%, windows: " + windowsStatus + ", heaters: " + heatersStatus + ", AC: " + ACStatus;
 	}
 
 	/**
 	 * Getters and setters
 	 */
+	public float getViabilityValue() {
+		return viabilityValue;
+	}
+
 	public int getEnergy() {
 		return energy;
 	}
@@ -200,6 +408,14 @@ public class House {
 		this.humidityRate = humidityRate;
 	}
 	
+	public float getOptimalTemperature() {
+		return optimalTemperature;
+	}
+
+	public float getOptimalHumidityRate() {
+		return optimalHumidityRate;
+	}
+
 	public float getTemperature() {
 		return this.temperature;
 	}
@@ -212,7 +428,32 @@ public class House {
 		return family;
 	}
 
-	public ArrayList<Room> getRooms() { return rooms; }
+	/**
+	 * @return the views on the rooms, built on the first call in a copy of a house
+	 */
+	public ArrayList<Room> getRooms() {
+		if (this.rooms == null) {
+			this.rooms = new ArrayList<>();
+			for (int i = 0; i < this.roomNames.length; i++) {
+				this.rooms.add(new Room(this.roomNames[i], this.roomStates, i));
+			}
+		}
+		return rooms;
+	}
+
+	public RoomStates getRoomStates() { return roomStates; }
+
+	public RoomGraph getRoomGraph() { return roomGraph; }
 	
-	public ArrayList<PowerGenerator> getPowerSupply() { return powerSupply; }
+	public List<AutomationRule> getAutomationRules() { return Collections.unmodifiableList(automationRules); }
+
+	public boolean hasAutomationRules() { return !automationRules.isEmpty(); }
+
+	public List<PowerGenerator> getPowerSupply() { return Collections.unmodifiableList(powerSupply); }
+
+	public int getDailyProduction() { return dailyProduction; }
+
+	public int getDailyMoneyCost() { return dailyMoneyCost; }
+
+	public int getDailyEnergyCost() { return dailyEnergyCost; }
 }
@@ -5,7 +5,23 @@
  */
 package model;
 
-public record Perk (int ID, String name, int installationCost, int dailyMoneyCost, int dailyEnergyCost) {
+import java.util.List;
+
+public record Perk (int ID, String name, int installationCost, int dailyMoneyCost, int dailyEnergyCost, List<PerkEffect> effects) {
+
+	/**
+	 * Class constructor of a perk without effect other than its costs
+	 */
+	public Perk(int ID, String name, int installationCost, int dailyMoneyCost, int dailyEnergyCost) {
+		this(ID, name, installationCost, dailyMoneyCost, dailyEnergyCost, List.of());
+	}
+
+	/**
+	 * Class constructor of a perk with effects
+	 */
+	public Perk(int ID, String name, int installationCost, int dailyMoneyCost, int dailyEnergyCost, PerkEffect... effects) {
+		this(ID, name, installationCost, dailyMoneyCost, dailyEnergyCost, List.of(effects));
+	}
 
 	/**
 	 * Stringifies the perk to display it
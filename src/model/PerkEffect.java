@@ -0,0 +1,43 @@
+/**
+ * @file PerkEffect.java
+ * @date 18/10/2026
+ * Effects a perk can have on the game. They are compiled once by the PerkPipeline when the perk is bought
+ */
+package model;
+
+import java.util.function.Consumer;
+
+public sealed interface PerkEffect {
+
+	/**
+	 * Continuous effect, runs at each update of the house once the rooms have been updated
+	 */
+	@FunctionalInterface
+	interface HouseController {
+		void control(House house, Weather weather);
+	}
+
+	/**
+	 * Runs a controller at each update of the house
+	 * @param controller: controller to run
+	 */
+	record Controller(HouseController controller) implements PerkEffect {}
+
+	/**
+	 * Modifies the game once, when the perk is bought
+	 * @param action: modification to apply
+	 */
+	record Modifier(Consumer<Game> action) implements PerkEffect {}
+
+	/**
+	 * Replaces the definition of an available task by a new one with the same ID, when the perk is bought
+	 * @param task: new definition of the task
+	 */
+	record TaskReplacement(Task task) implements PerkEffect {}
+
+	/**
+	 * Adds a power generator to the house, when the perk is bought
+	 * @param generator: generator to add
+	 */
+	record GeneratorAddition(PowerGenerator generator) implements PerkEffect {}
+}
@@ -0,0 +1,84 @@
+/**
+ * @file PerkPipeline.java
+ * @date 18/10/2026
+ * Effects of the bought perks compiled when they are bought: the one-shot effects are applied once, and the controllers
+ * become update hooks run in purchase order. The pipeline holds only these hooks, so the cost of an update depends on
+ * the number of controllers installed, not on the number of perks bought. The daily costs of the perks are not kept
+ * here: they are added to the running totals of the house, which charges them on the new day
+ */
+package model;
+
+import java.util.ArrayList;
+
+public class PerkPipeline {
+
+	private final ArrayList<PerkEffect.HouseController> updateHooks; // controllers run at each update, in purchase order
+
+	/**
+	 * Class constructor of a pipeline without any perk
+	 */
+	public PerkPipeline() {
+		this.updateHooks = new ArrayList<>();
+	}
+
+	/**
+	 * Copies the hooks of the pipeline, the controllers themselves are shared since they act on the house they are given
+	 * @return the copy
+	 */
+	public PerkPipeline copy() {
+		PerkPipeline copy = new PerkPipeline();
+		copy.updateHooks.addAll(this.updateHooks);
+		return copy;
+	}
+
+	/**
+	 * Compiles the effects of a perk just bought: applies the one-shot effects and registers the hooks of the other phases
+	 * @param perk: perk bought
+	 * @param game: game in which the perk has been bought
+	 */
+	public void install(Perk perk, Game game) {
+		for (PerkEffect effect: perk.effects()) {
+			if (effect instanceof PerkEffect.Modifier modifier) {
+				modifier.action().accept(game);
+			} else if (effect instanceof PerkEffect.TaskReplacement replacement) {
+				game.getAvailableTasks().replace(replacement.task());
+			} else if (effect instanceof PerkEffect.GeneratorAddition addition) {
+				game.getHouse().addPowerSupply(addition.generator());
+			}
+		}
+		this.restore(perk, game);
+	}
+
+	/**
+	 * Registers the lasting effects of a perk bought earlier, when the game is loaded from a save: the controllers and
+	 * the daily costs. The one-shot effects are not applied again since their result is already in the saved state
+	 * @param perk: perk bought
+	 * @param game: game in which the perk has been bought
+	 */
+	public void restore(Perk perk, Game game) {
+		for (PerkEffect effect: perk.effects()) {
+			if (effect instanceof PerkEffect.Controller controller) {
+				this.updateHooks.add(controller.controller());
+			}
+		}
+		game.getHouse().addDailyCost(perk.dailyMoneyCost(), perk.dailyEnergyCost());
+	}
+
+	/**
+	 * Runs the controllers, called by the house at each update once the rooms have been updated
+	 * @param house: house updated
+	 * @param weather: weather of the environment
+	 */
+	public void onUpdate(House house, Weather weather) {
+		for (int i = 0; i < this.updateHooks.size(); i++) {
+			this.updateHooks.get(i).control(house, weather);
+		}
+	}
+
+	/**
+	 * Getters and setters
+	 */
+	public int getControllersCount() {
+		return this.updateHooks.size();
+	}
+}
@@ -31,6 +31,17 @@ public class Person {
 		this.tasks = new ArrayList<>();
 	}
 
+	/**
+	 * Copies the person with the tasks planned
+	 * @return the copy
+	 */
+	public Person copy() {
+		Person copy = new Person(this.name, this.id, this.maxStamina);
+		copy.stamina = this.stamina;
+		copy.tasks.addAll(this.tasks);
+		return copy;
+	}
+
 	/**
 	 * Adds a task to the ArrayList link to the Person
 	 * @param task: Task to add
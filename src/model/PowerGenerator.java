@@ -29,6 +29,14 @@ public class PowerGenerator {
 	/**
 	 * Getters and setters
 	 */
+	public String getName() {
+		return name;
+	}
+
+	public int getInstallationCost() {
+		return installationCost;
+	}
+
 	public int getDailyCost() {
 		return dailyCost;
 	}
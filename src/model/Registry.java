@@ -0,0 +1,119 @@
+/**
+ * @file Registry.java
+ * @date 18/10/2026
+ * Catalog of elements (tasks, perks...) indexed by their ID. Lookups are O(1) whatever the IDs are, dense or not,
+ * and the iteration order is the order in which the elements have been added
+ */
+package model;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.ToIntFunction;
+
+public class Registry<T> implements Iterable<T> {
+
+	private LinkedHashMap<Integer, T> elements; // elements by ID, in insertion order, shared with the copies until changed
+	private boolean isShared; // true when the elements are shared with a copy
+	private final ToIntFunction<T> idOf; // gives the ID of an element
+
+	/**
+	 * Class constructor
+	 * @param idOf: gives the ID of an element
+	 */
+	public Registry(ToIntFunction<T> idOf) {
+		this.elements = new LinkedHashMap<>();
+		this.idOf = idOf;
+	}
+
+	/**
+	 * Adds an element at the end of the registry, or replaces the element with the same ID at its current position
+	 * @param element: element to add
+	 */
+	public void add(T element) {
+		this.own();
+		this.elements.put(this.idOf.applyAsInt(element), element);
+	}
+
+	/**
+	 * Copies the registry in constant time, the elements are shared until either side changes
+	 * @return the copy, in the same order
+	 */
+	public Registry<T> copy() {
+		Registry<T> copy = new Registry<>(this.idOf);
+		copy.elements = this.elements;
+		this.isShared = copy.isShared = true;
+		return copy;
+	}
+
+	/**
+	 * Stops sharing the elements with the copies before a change
+	 */
+	private void own() {
+		if (this.isShared) {
+			this.elements = new LinkedHashMap<>(this.elements);
+			this.isShared = false;
+		}
+	}
+
+	/**
+	 * Replaces the definition of an element already registered, keeping its position. Does nothing if the ID is unknown
+	 * @param element: new definition of the element
+	 */
+	public void replace(T element) {
+		this.own();
+		this.elements.replace(this.idOf.applyAsInt(element), element);
+	}
+
+	/**
+	 * Removes an element from its ID
+	 * @param id: ID of the element
+	 * @return the removed element, null if the ID is unknown
+	 */
+	public T remove(int id) {
+		this.own();
+		return this.elements.remove(id);
+	}
+
+	/**
+	 * Finds an element from its ID
+	 * @param id: ID of the element
+	 * @return the element, null if the ID is unknown
+	 */
+	public T get(int id) {
+		return this.elements.get(id);
+	}
+
+	/**
+	 * Removes all the elements
+	 */
+	public void clear() {
+		this.elements = new LinkedHashMap<>();
+		this.isShared = false;
+	}
+
+	public boolean contains(int id) {
+		return this.elements.containsKey(id);
+	}
+
+	public int size() {
+		return this.elements.size();
+	}
+
+	public boolean isEmpty() {
+		return this.elements.isEmpty();
+	}
+
+	/**
+	 * @return a read-only view of the elements, in insertion order
+	 */
+	public Collection<T> values() {
+		return Collections.unmodifiableCollection(this.elements.values());
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return this.values().iterator();
+	}
+}
@@ -1,37 +1,41 @@
 /**
  * @file Room.java
  * @date 18/12/2022
- * Describes a room of the house
+ * Describes a room of the house. The state of the room is stored in the columns of the RoomStates of its house
  */
 package model;
 
-import java.lang.Math;
-
 public class Room {
 
 	private final String name; // name of the room
-	private float heaterTemperature; // temperature of the heaters
-	private boolean isHeaterTurnedOn; // tells if the heater is on
-	private float ACTemperature; // temperature of the AC
-	private boolean isACTurnedOn; // tells if the AC is on
-	private float temperature; // temperature of the room
-	private float humidityRate; // humidity of the room ([0,1])
-	private float isolationRate; // isolation rate of the walls ([0,1])
-	private boolean isWindowOpen; // tells if the window is open
+	private RoomStates states; // columns holding the state of the room
+	private int index; // index of the room in the columns
 
 	/**
 	 * Class constructors
 	 */
 	public Room(String name, float temperature, float humidityRate) {
 		this.name = name;
-		this.heaterTemperature = 0f;
-		this.isHeaterTurnedOn = false;
-		this.ACTemperature = 0f;
-		this.isACTurnedOn = false;
-		this.temperature = temperature;
-		this.humidityRate = humidityRate;
-		this.isolationRate = .5f;
-		this.isWindowOpen = false;
+		this.states = new RoomStates(1);
+		this.index = this.states.add(temperature, humidityRate);
+	}
+
+	/**
+	 * Class constructor of a view on a room already stored in columns, used to copy a house
+	 */
+	Room(String name, RoomStates states, int index) {
+		this.name = name;
+		this.states = states;
+		this.index = index;
+	}
+
+	/**
+	 * Moves the state of the room into the columns of a house
+	 * @param states: columns of the house
+	 */
+	void attach(RoomStates states) {
+		this.index = states.addCopyOf(this.states, this.index);
+		this.states = states;
 	}
 
 	/**
@@ -40,16 +44,17 @@ public class Room {
 	 * @param outsideTemperature: temperature outside the house
 	 */
 	public void update(float outsideHumidityRate, float outsideTemperature) {
-		if (this.isWindowOpen) {
-			this.humidityRate = (this.humidityRate + outsideHumidityRate) / 2;
-			this.temperature = (this.temperature + outsideTemperature) / 2;
-		} else {
-			this.temperature = isHeaterTurnedOn && heaterTemperature > this.temperature ? (this.temperature + this.heaterTemperature) / 2 : this.temperature;
-			this.temperature = isACTurnedOn && ACTemperature < this.temperature ? (this.temperature + this.ACTemperature) / 2 : this.temperature;
-			// Loss of humidity and temperature due to non-optimal isolation
-			this.humidityRate = Math.max(Math.min(this.humidityRate + (1 - this.isolationRate) * (outsideHumidityRate - this.humidityRate) * .1f, 1), 0);
-			this.temperature = this.temperature + (1 - this.isolationRate) * (outsideTemperature - this.temperature) * .2f;
-		}
+		this.states.update(this.index, outsideHumidityRate, outsideTemperature);
+	}
+
+	/**
+	 * Applies a number of updates at once, the devices and the weather must not change in the meantime
+	 * @param steps: number of updates to apply
+	 * @param outsideHumidityRate: humidity rate outside the house
+	 * @param outsideTemperature: temperature outside the house
+	 */
+	public void fastForward(int steps, float outsideHumidityRate, float outsideTemperature) {
+		this.states.fastForward(this.index, steps, outsideHumidityRate, outsideTemperature);
 	}
 
 	/**
@@ -59,64 +64,76 @@ public class Room {
 	public String toString() {
 		return "Room:\n" +
 				"name='" + name + '\'' +
-				", heaterTemperature=" + heaterTemperature +
-				", isHeaterTurnedOn=" + isHeaterTurnedOn +
-				", temperature=" + temperature +
-				", humidityRate=" + humidityRate +
-				", isolationRate=" + isolationRate +
-				", isWindowOpen=" + isWindowOpen;
+				", heaterTemperature=" + getHeaterTemperature() +
+				", isHeaterTurnedOn=" + isHeaterTurnedOn() +
+				", temperature=" + getTemperature() +
+				", humidityRate=" + getHumidityRate() +
+				", isolationRate=" + getIsolationRate() +
+				", isWindowOpen=" + isWindowOpen();
 	}
 
 	/**
 	 * Getters and setters
 	 */
+	public String getName() {
+		return name;
+	}
+
+	int getIndex() {
+		return index;
+	}
+
 	public float getHeaterTemperature() {
-		return heaterTemperature;
+		return states.getHeaterTemperature(index);
 	}
 
 	public void setHeaterTemperature(float heaterTemperature) {
-		this.heaterTemperature = heaterTemperature;
+		states.setHeaterTemperature(index, heaterTemperature);
 	}
 
 	public boolean isHeaterTurnedOn() {
-		return isHeaterTurnedOn;
+		return states.isHeaterTurnedOn(index);
 	}
 
 	public void setHeaterTurnedOn(boolean heaterTurnedOn) {
-		isHeaterTurnedOn = heaterTurnedOn;
+		states.setHeaterTurnedOn(index, heaterTurnedOn);
 	}
 
 	public float getTemperature() {
-		return temperature;
+		return states.getTemperature(index);
 	}
 
 	public float getHumidityRate() {
-		return humidityRate;
+		return states.getHumidityRate(index);
 	}
 
 	public boolean isWindowOpen() {
-		return isWindowOpen;
+		return states.isWindowOpen(index);
 	}
 
 	public void setWindowOpen(boolean windowOpen) {
-		isWindowOpen = windowOpen;
+		states.setWindowOpen(index, windowOpen);
 	}
 
 	public float getACTemperature() {
-		return ACTemperature;
+		return states.getACTemperature(index);
 	}
 
 	public void setACTemperature(float ACTemperature) {
-		this.ACTemperature = ACTemperature;
+		states.setACTemperature(index, ACTemperature);
 	}
 
 	public boolean isACTurnedOn() {
-		return isACTurnedOn;
+		return states.isACTurnedOn(index);
 	}
 
 	public void setACTurnedOn(boolean ACTurnedOn) {
-		isACTurnedOn = ACTurnedOn;
+		states.setACTurnedOn(index, ACTurnedOn);
+	}
+
+	public float getIsolationRate() {
+		return states.getIsolationRate(index);
 	}
 
-	public void setIsolationRate(float isolationRate) { this.isolationRate = isolationRate; }
+	public void setIsolationRate(float isolationRate) { states.setIsolationRate(index, isolationRate); }
 }
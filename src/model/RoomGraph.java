@@ -0,0 +1,222 @@
+/**
+ * @file RoomGraph.java
+ * @date 18/10/2026
+ * Adjacency between the rooms of a house, used to exchange heat and humidity between neighbour rooms at each task.
+ * The graph is stored as a sparse matrix in compressed rows (CSR) and the exchange is an explicit step of the diffusion:
+ * T[i] += sum over neighbours j of w[i][j] * (T[j] - T[i]). The flux of a room is only recomputed when the room or one of
+ * its neighbours changed since the values the previous fluxes were computed from, otherwise the previous flux is reused:
+ * it is then exactly the flux computed from the current values, so the fluxes only depend on the state of the rooms.
+ * For the step to be stable the sum of the conductances of a room must stay below .5, connections going over are rejected
+ */
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class RoomGraph {
+
+	private record Edge(int from, int to, float conductance) {}
+
+	private static final float MAX_TOTAL_CONDUCTANCE = .5f; // the explicit step diverges from this sum of conductances of a room
+
+	private ArrayList<Edge> edges; // both directions of every connection, shared with the copies until a connection is added
+	private boolean areEdgesShared; // true when the edges are shared with a copy
+	private boolean areFluxesShared; // true when the fluxes of the last step are shared with a copy
+	private long edgesHash; // Zobrist-style hash of the edges, updated when a connection is added
+	private boolean isCompiled; // false when edges have been added since the matrix has been built
+	private int size; // number of rows of the matrix
+	private int[] rowStarts; // CSR: neighbours of the room i are at [rowStarts[i], rowStarts[i + 1])
+	private int[] neighbours; // CSR: column (neighbour room) of each non-zero value
+	private float[] conductances; // CSR: conductance of each non-zero value
+	private float[] temperatureFluxes; // temperature flux of each room computed at the last step
+	private float[] humidityFluxes; // humidity flux of each room computed at the last step
+	private float[] lastTemperatures; // temperatures the fluxes of the last step were computed from, used to detect changed rooms
+	private float[] lastHumidityRates; // humidity rates the fluxes of the last step were computed from, used to detect changed rooms
+	private boolean[] isDirty; // rooms whose flux has to be recomputed
+	// The compressed rows are never changed once built, a copy shares them until a connection is added
+
+	/**
+	 * Class constructor of a graph without connection
+	 */
+	public RoomGraph() {
+		this.edges = new ArrayList<>();
+		this.isCompiled = false;
+		this.size = 0;
+	}
+
+	/**
+	 * Connects two rooms so that they exchange heat and humidity
+	 * @param room1: index of the first room
+	 * @param room2: index of the second room
+	 * @param conductance: part of the difference exchanged at each task, the sum for a room must stay below .5
+	 * @param roomsCount: number of rooms, the indexes must be below it
+	 * @throws IllegalArgumentException if an index is not a room, if the conductance is not positive or if the sum of
+	 * the conductances of one of the rooms would reach .5
+	 */
+	public void connect(int room1, int room2, float conductance, int roomsCount) {
+		if (room1 < 0 || room1 >= roomsCount || room2 < 0 || room2 >= roomsCount) {
+			throw new IllegalArgumentException("Rooms " + room1 + " and " + room2 + " cannot be connected, there are " + roomsCount + " rooms");
+		}
+		if (!(conductance > 0)) {
+			throw new IllegalArgumentException("The conductance of a connection must be positive, got " + conductance);
+		}
+		if (room1 == room2) {
+			return;
+		}
+		if (this.totalConductance(room1) + conductance >= MAX_TOTAL_CONDUCTANCE || this.totalConductance(room2) + conductance >= MAX_TOTAL_CONDUCTANCE) {
+			throw new IllegalArgumentException("The conductances of a room must sum below " + MAX_TOTAL_CONDUCTANCE + ", the exchange would be unstable");
+		}
+		if (this.areEdgesShared) {
+			this.edges = new ArrayList<>(this.edges);
+			this.areEdgesShared = false;
+		}
+		this.edgesHash ^= edgeTerm(this.edges.size(), room1, room2, conductance) ^ edgeTerm(this.edges.size() + 1, room2, room1, conductance);
+		this.edges.add(new Edge(room1, room2, conductance));
+		this.edges.add(new Edge(room2, room1, conductance));
+		this.isCompiled = false;
+	}
+
+	/**
+	 * @param room: index of the room
+	 * @return the sum of the conductances of the connections of the room
+	 */
+	private float totalConductance(int room) {
+		float total = 0;
+		for (Edge edge: this.edges) {
+			if (edge.from() == room) {
+				total += edge.conductance();
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * Copies the connections in constant time: the edges, the matrix and the fluxes of the last step are shared until
+	 * either side changes them. Must not be called while another thread changes this graph
+	 * @return the copy
+	 */
+	public RoomGraph copy() {
+		RoomGraph copy = new RoomGraph();
+		copy.edges = this.edges;
+		copy.edgesHash = this.edgesHash;
+		copy.isCompiled = this.isCompiled;
+		copy.size = this.size;
+		copy.rowStarts = this.rowStarts;
+		copy.neighbours = this.neighbours;
+		copy.conductances = this.conductances;
+		copy.temperatureFluxes = this.temperatureFluxes;
+		copy.humidityFluxes = this.humidityFluxes;
+		copy.lastTemperatures = this.lastTemperatures;
+		copy.lastHumidityRates = this.lastHumidityRates;
+		copy.isDirty = this.isDirty;
+		this.areEdgesShared = this.areFluxesShared = copy.areEdgesShared = copy.areFluxesShared = true;
+		return copy;
+	}
+
+	/**
+	 * Builds the compressed rows from the edges
+	 * @param size: number of rooms
+	 */
+	private void compile(int size) {
+		this.size = size;
+		this.rowStarts = new int[size + 1];
+		for (Edge edge: this.edges) {
+			this.rowStarts[edge.from() + 1]++;
+		}
+		for (int i = 0; i < size; i++) {
+			this.rowStarts[i + 1] += this.rowStarts[i];
+		}
+		this.neighbours = new int[this.edges.size()];
+		this.conductances = new float[this.edges.size()];
+		int[] nextSlot = Arrays.copyOf(this.rowStarts, size);
+		for (Edge edge: this.edges) {
+			int slot = nextSlot[edge.from()]++;
+			this.neighbours[slot] = edge.to();
+			this.conductances[slot] = edge.conductance();
+		}
+		this.temperatureFluxes = new float[size];
+		this.humidityFluxes = new float[size];
+		this.lastTemperatures = new float[size];
+		this.lastHumidityRates = new float[size];
+		this.isDirty = new boolean[size];
+		Arrays.fill(this.isDirty, true);
+		this.areFluxesShared = false;
+		this.isCompiled = true;
+	}
+
+	/**
+	 * Exchanges heat and humidity between the connected rooms
+	 * @param temperatures: temperature column of the rooms, updated in place
+	 * @param humidityRates: humidity column of the rooms, updated in place
+	 * @param size: number of rooms in the columns
+	 */
+	void exchange(float[] temperatures, float[] humidityRates, int size) {
+		if (this.edges.isEmpty()) {
+			return;
+		}
+		if (!this.isCompiled || this.size != size) {
+			this.compile(size);
+		}
+		if (this.areFluxesShared) {
+			this.temperatureFluxes = this.temperatureFluxes.clone();
+			this.humidityFluxes = this.humidityFluxes.clone();
+			this.lastTemperatures = this.lastTemperatures.clone();
+			this.lastHumidityRates = this.lastHumidityRates.clone();
+			this.isDirty = this.isDirty.clone();
+			this.areFluxesShared = false;
+		}
+
+		// A room changed since the fluxes were computed: its own flux and the flux of its neighbours are outdated
+		for (int i = 0; i < size; i++) {
+			if (temperatures[i] != this.lastTemperatures[i] || humidityRates[i] != this.lastHumidityRates[i]) {
+				this.isDirty[i] = true;
+				for (int k = this.rowStarts[i]; k < this.rowStarts[i + 1]; k++) {
+					this.isDirty[this.neighbours[k]] = true;
+				}
+			}
+		}
+
+		// Fluxes are all computed from the values before the step (Jacobi)
+		for (int i = 0; i < size; i++) {
+			if (!this.isDirty[i]) {
+				continue;
+			}
+			float temperatureFlux = 0;
+			float humidityFlux = 0;
+			for (int k = this.rowStarts[i]; k < this.rowStarts[i + 1]; k++) {
+				int j = this.neighbours[k];
+				temperatureFlux += this.conductances[k] * (temperatures[j] - temperatures[i]);
+				humidityFlux += this.conductances[k] * (humidityRates[j] - humidityRates[i]);
+			}
+			this.temperatureFluxes[i] = temperatureFlux;
+			this.humidityFluxes[i] = humidityFlux;
+			this.isDirty[i] = false;
+		}
+
+		// The fluxes are kept with the values they were computed from, before the step changes them
+		System.arraycopy(temperatures, 0, this.lastTemperatures, 0, size);
+		System.arraycopy(humidityRates, 0, this.lastHumidityRates, 0, size);
+		for (int i = 0; i < size; i++) {
+			temperatures[i] += this.temperatureFluxes[i];
+			humidityRates[i] += this.humidityFluxes[i];
+		}
+	}
+
+	private static long edgeTerm(int index, int from, int to, float conductance) {
+		return StateHash.term(StateHash.ROOM_CONNECTION, index, (long) from << 44 ^ (long) to << 32 ^ Float.floatToIntBits(conductance));
+	}
+
+	/**
+	 * @return the Zobrist-style hash of the connections, see StateHash
+	 */
+	public long stateHash() {
+		return this.edgesHash;
+	}
+
+	/**
+	 * Getters and setters
+	 */
+	public int getConnectionsCount() {
+		return this.edges.size() / 2;
+	}
+}
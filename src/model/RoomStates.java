@@ -0,0 +1,585 @@
+/**
+ * @file RoomStates.java
+ * @date 18/10/2026
+ * Thermal state of all the rooms of a house stored as columns (one primitive array per field) so that the update of
+ * every room is a single tight loop over contiguous memory
+ */
+package model;
+
+import java.util.Arrays;
+
+public class RoomStates {
+
+	private static final int HEATER_ACTING = 1; // regime flag, the heater warms the room
+	private static final int AC_ACTING = 2; // regime flag, the AC cools the room
+
+	private int size; // number of rooms stored
+	private float[] temperatures; // temperature of each room
+	private float[] humidityRates; // humidity of each room ([0,1])
+	private float[] isolationRates; // isolation rate of the walls of each room ([0,1])
+	private float[] heaterTemperatures; // temperature of the heaters of each room
+	private float[] ACTemperatures; // temperature of the AC of each room
+	private long[] heatersOn; // bit set, bit i tells if the heater of the room i is on
+	private long[] ACsOn; // bit set, bit i tells if the AC of the room i is on
+	private long[] windowsOpen; // bit set, bit i tells if the window of the room i is open
+	// Columns are shared with the copies until one side writes them: each group of columns is cloned on its first write
+	private boolean isThermalShared; // temperatures and humidity rates are shared with a copy
+	private boolean isIsolationShared; // isolation rates are shared with a copy
+	private boolean areDevicesShared; // heaters, ACs and windows are shared with a copy
+
+	/**
+	 * Class constructor
+	 * @param capacity: number of rooms the columns can hold before growing
+	 */
+	public RoomStates(int capacity) {
+		capacity = Math.max(capacity, 1);
+		this.size = 0;
+		this.temperatures = new float[capacity];
+		this.humidityRates = new float[capacity];
+		this.isolationRates = new float[capacity];
+		this.heaterTemperatures = new float[capacity];
+		this.ACTemperatures = new float[capacity];
+		this.heatersOn = new long[wordsFor(capacity)];
+		this.ACsOn = new long[wordsFor(capacity)];
+		this.windowsOpen = new long[wordsFor(capacity)];
+	}
+
+	/**
+	 * Class constructor of a copy sharing the columns of another RoomStates
+	 */
+	private RoomStates(RoomStates other) {
+		this.size = other.size;
+		this.temperatures = other.temperatures;
+		this.humidityRates = other.humidityRates;
+		this.isolationRates = other.isolationRates;
+		this.heaterTemperatures = other.heaterTemperatures;
+		this.ACTemperatures = other.ACTemperatures;
+		this.heatersOn = other.heatersOn;
+		this.ACsOn = other.ACsOn;
+		this.windowsOpen = other.windowsOpen;
+		this.isThermalShared = this.isIsolationShared = this.areDevicesShared = true;
+	}
+
+	private void ownThermal() {
+		if (this.isThermalShared) {
+			this.temperatures = this.temperatures.clone();
+			this.humidityRates = this.humidityRates.clone();
+			this.isThermalShared = false;
+		}
+	}
+
+	private void ownIsolation() {
+		if (this.isIsolationShared) {
+			this.isolationRates = this.isolationRates.clone();
+			this.isIsolationShared = false;
+		}
+	}
+
+	private void ownDevices() {
+		if (this.areDevicesShared) {
+			this.heaterTemperatures = this.heaterTemperatures.clone();
+			this.ACTemperatures = this.ACTemperatures.clone();
+			this.heatersOn = this.heatersOn.clone();
+			this.ACsOn = this.ACsOn.clone();
+			this.windowsOpen = this.windowsOpen.clone();
+			this.areDevicesShared = false;
+		}
+	}
+
+	private static int wordsFor(int bits) {
+		return (bits + 63) >>> 6;
+	}
+
+	private static boolean getBit(long[] bits, int index) {
+		return (bits[index >>> 6] & (1L << index)) != 0;
+	}
+
+	private static void setBit(long[] bits, int index, boolean value) {
+		if (value) {
+			bits[index >>> 6] |= 1L << index;
+		} else {
+			bits[index >>> 6] &= ~(1L << index);
+		}
+	}
+
+	/**
+	 * Sets the bits [0, size) of a bit set to the same value
+	 */
+	private void setAllBits(long[] bits, boolean value) {
+		int fullWords = this.size >>> 6;
+		Arrays.fill(bits, 0, fullWords, value ? -1L : 0L);
+		int remainingBits = this.size & 63;
+		if (remainingBits != 0) {
+			long mask = (1L << remainingBits) - 1;
+			bits[fullWords] = value ? bits[fullWords] | mask : bits[fullWords] & ~mask;
+		}
+	}
+
+	/**
+	 * Adds a room with windows closed, heater and AC off and a .5 isolation rate
+	 * @param temperature: temperature of the room
+	 * @param humidityRate: humidity of the room ([0,1])
+	 * @return the index of the room in the columns
+	 */
+	public int add(float temperature, float humidityRate) {
+		this.ownThermal();
+		this.ownIsolation();
+		this.ownDevices();
+		if (this.size == this.temperatures.length) {
+			int capacity = this.size * 2;
+			this.temperatures = Arrays.copyOf(this.temperatures, capacity);
+			this.humidityRates = Arrays.copyOf(this.humidityRates, capacity);
+			this.isolationRates = Arrays.copyOf(this.isolationRates, capacity);
+			this.heaterTemperatures = Arrays.copyOf(this.heaterTemperatures, capacity);
+			this.ACTemperatures = Arrays.copyOf(this.ACTemperatures, capacity);
+			this.heatersOn = Arrays.copyOf(this.heatersOn, wordsFor(capacity));
+			this.ACsOn = Arrays.copyOf(this.ACsOn, wordsFor(capacity));
+			this.windowsOpen = Arrays.copyOf(this.windowsOpen, wordsFor(capacity));
+		}
+		int index = this.size++;
+		this.temperatures[index] = temperature;
+		this.humidityRates[index] = humidityRate;
+		this.isolationRates[index] = .5f;
+		this.heaterTemperatures[index] = 0f;
+		this.ACTemperatures[index] = 0f;
+		setBit(this.heatersOn, index, false);
+		setBit(this.ACsOn, index, false);
+		setBit(this.windowsOpen, index, false);
+		return index;
+	}
+
+	/**
+	 * Copies all the columns in constant time, the copy evolves independently: the columns are shared until either side
+	 * writes them. Must not be called while another thread changes these columns
+	 * @return the copy
+	 */
+	public RoomStates copy() {
+		this.isThermalShared = this.isIsolationShared = this.areDevicesShared = true;
+		return new RoomStates(this);
+	}
+
+	/**
+	 * Adds a copy of a room stored in other columns
+	 * @param other: columns holding the room
+	 * @param otherIndex: index of the room in the other columns
+	 * @return the index of the room in these columns
+	 */
+	int addCopyOf(RoomStates other, int otherIndex) {
+		int index = this.add(other.temperatures[otherIndex], other.humidityRates[otherIndex]);
+		this.isolationRates[index] = other.isolationRates[otherIndex];
+		this.heaterTemperatures[index] = other.heaterTemperatures[otherIndex];
+		this.ACTemperatures[index] = other.ACTemperatures[otherIndex];
+		setBit(this.heatersOn, index, getBit(other.heatersOn, otherIndex));
+		setBit(this.ACsOn, index, getBit(other.ACsOn, otherIndex));
+		setBit(this.windowsOpen, index, getBit(other.windowsOpen, otherIndex));
+		return index;
+	}
+
+	/**
+	 * Updates all the rooms at each task, same rules as Room.update
+	 * @param outsideHumidityRate: humidity rate outside the house
+	 * @param outsideTemperature: temperature outside the house
+	 */
+	public void update(float outsideHumidityRate, float outsideTemperature) {
+		this.ownThermal();
+		final float[] temperatures = this.temperatures;
+		final float[] humidityRates = this.humidityRates;
+		final float[] isolationRates = this.isolationRates;
+		final float[] heaterTemperatures = this.heaterTemperatures;
+		final float[] ACTemperatures = this.ACTemperatures;
+		final long[] heatersOn = this.heatersOn;
+		final long[] ACsOn = this.ACsOn;
+		final long[] windowsOpen = this.windowsOpen;
+
+		for (int i = 0; i < this.size; i++) {
+			long bit = 1L << i;
+			int word = i >>> 6;
+			float temperature = temperatures[i];
+			float humidityRate = humidityRates[i];
+			if ((windowsOpen[word] & bit) != 0) {
+				humidityRate = (humidityRate + outsideHumidityRate) / 2;
+				temperature = (temperature + outsideTemperature) / 2;
+			} else {
+				float leak = 1 - isolationRates[i];
+				temperature = (heatersOn[word] & bit) != 0 && heaterTemperatures[i] > temperature ? (temperature + heaterTemperatures[i]) / 2 : temperature;
+				temperature = (ACsOn[word] & bit) != 0 && ACTemperatures[i] < temperature ? (temperature + ACTemperatures[i]) / 2 : temperature;
+				// Loss of humidity and temperature due to non-optimal isolation
+				humidityRate = Math.max(Math.min(humidityRate + leak * (outsideHumidityRate - humidityRate) * .1f, 1), 0);
+				temperature = temperature + leak * (outsideTemperature - temperature) * .2f;
+			}
+			temperatures[i] = temperature;
+			humidityRates[i] = humidityRate;
+		}
+	}
+
+	/**
+	 * Exchanges heat and humidity between the rooms connected in a graph
+	 * @param graph: connections between the rooms
+	 */
+	void exchange(RoomGraph graph) {
+		this.ownThermal();
+		graph.exchange(this.temperatures, this.humidityRates, this.size);
+	}
+
+	/**
+	 * Opens or closes the windows of the rooms of a bit mask, used by the automation rules
+	 * @param word: rooms [64 * word, 64 * word + 64) covered by the mask
+	 * @param mask: bit i set for the room 64 * word + i
+	 * @param status: true if the windows will be open, false otherwise
+	 */
+	void setWindowsOpen(int word, long mask, boolean status) {
+		this.ownDevices();
+		this.windowsOpen[word] = status ? this.windowsOpen[word] | mask : this.windowsOpen[word] & ~mask;
+	}
+
+	/**
+	 * Turns on or off the heaters of the rooms of a bit mask, used by the automation rules
+	 * @param temperature: temperature of the heaters turned on, ignored when turned off
+	 */
+	void setHeatersTurnedOn(int word, long mask, boolean status, float temperature) {
+		this.ownDevices();
+		if (status) {
+			setMaskedValues(this.heaterTemperatures, word, mask, temperature);
+		}
+		this.heatersOn[word] = status ? this.heatersOn[word] | mask : this.heatersOn[word] & ~mask;
+	}
+
+	/**
+	 * Turns on or off the ACs of the rooms of a bit mask, used by the automation rules
+	 * @param temperature: temperature of the ACs turned on, ignored when turned off
+	 */
+	void setACsTurnedOn(int word, long mask, boolean status, float temperature) {
+		this.ownDevices();
+		if (status) {
+			setMaskedValues(this.ACTemperatures, word, mask, temperature);
+		}
+		this.ACsOn[word] = status ? this.ACsOn[word] | mask : this.ACsOn[word] & ~mask;
+	}
+
+	private static void setMaskedValues(float[] column, int word, long mask, float value) {
+		while (mask != 0) {
+			column[(word << 6) + Long.numberOfTrailingZeros(mask)] = value;
+			mask &= mask - 1;
+		}
+	}
+
+	/**
+	 * Columns read in place by the automation rules, valid until the next room is added
+	 */
+	float[] temperatureColumn() {
+		return this.temperatures;
+	}
+
+	float[] humidityRateColumn() {
+		return this.humidityRates;
+	}
+
+	/**
+	 * Updates a single room, used by Room.update
+	 * @param index: index of the room
+	 * @param outsideHumidityRate: humidity rate outside the house
+	 * @param outsideTemperature: temperature outside the house
+	 */
+	void update(int index, float outsideHumidityRate, float outsideTemperature) {
+		this.ownThermal();
+		if (getBit(this.windowsOpen, index)) {
+			this.humidityRates[index] = (this.humidityRates[index] + outsideHumidityRate) / 2;
+			this.temperatures[index] = (this.temperatures[index] + outsideTemperature) / 2;
+		} else {
+			float temperature = this.temperatures[index];
+			temperature = getBit(this.heatersOn, index) && this.heaterTemperatures[index] > temperature ? (temperature + this.heaterTemperatures[index]) / 2 : temperature;
+			temperature = getBit(this.ACsOn, index) && this.ACTemperatures[index] < temperature ? (temperature + this.ACTemperatures[index]) / 2 : temperature;
+			// Loss of humidity and temperature due to non-optimal isolation
+			this.humidityRates[index] = Math.max(Math.min(this.humidityRates[index] + (1 - this.isolationRates[index]) * (outsideHumidityRate - this.humidityRates[index]) * .1f, 1), 0);
+			this.temperatures[index] = temperature + (1 - this.isolationRates[index]) * (outsideTemperature - temperature) * .2f;
+		}
+	}
+
+	/**
+	 * Applies a number of updates to all the rooms at once, the devices and the weather must not change in the meantime
+	 * @param steps: number of updates to apply
+	 * @param outsideHumidityRate: humidity rate outside the house
+	 * @param outsideTemperature: temperature outside the house
+	 */
+	public void fastForward(int steps, float outsideHumidityRate, float outsideTemperature) {
+		for (int i = 0; i < this.size; i++) {
+			this.fastForward(i, steps, outsideHumidityRate, outsideTemperature);
+		}
+	}
+
+	/**
+	 * Applies a number of updates to a room at once, the devices and the weather must not change in the meantime.
+	 * With constant devices an update is affine in each regime (window open, heater acting, AC acting, both or none):
+	 * x' = c * x + d, so k updates give x* + c^k * (x - x*) with x* = d / (1 - c) the fixed point. The temperature
+	 * converges monotonically to x*, so when x* is in the same regime as the current temperature the regime never
+	 * changes and the jump is exact up to rounding. Otherwise updates are applied one by one until it is the case.
+	 * @param index: index of the room
+	 * @param steps: number of updates to apply
+	 * @param outsideHumidityRate: humidity rate outside the house
+	 * @param outsideTemperature: temperature outside the house
+	 */
+	void fastForward(int index, int steps, float outsideHumidityRate, float outsideTemperature) {
+		this.ownThermal();
+		while (steps > 0) {
+			float temperature = this.temperatures[index];
+			float humidityRate = this.humidityRates[index];
+			if (getBit(this.windowsOpen, index)) {
+				double decay = Math.pow(.5, steps);
+				this.temperatures[index] = (float) (outsideTemperature + (temperature - outsideTemperature) * decay);
+				this.humidityRates[index] = (float) (outsideHumidityRate + (humidityRate - outsideHumidityRate) * decay);
+				return;
+			}
+
+			int regime = this.regimeOf(index, temperature);
+			double c = 1, d = 0; // temperature before the leak: c * T + d
+			if ((regime & HEATER_ACTING) != 0) {
+				c = .5;
+				d = this.heaterTemperatures[index] / 2.;
+			}
+			if ((regime & AC_ACTING) != 0) {
+				c = c / 2;
+				d = (d + this.ACTemperatures[index]) / 2;
+			}
+			double leak = (1 - this.isolationRates[index]) * .2;
+			c = (1 - leak) * c;
+			d = (1 - leak) * d + leak * outsideTemperature;
+
+			if (c >= 1) { // perfect isolation and no device acting: nothing changes
+				return;
+			}
+			double fixedPoint = d / (1 - c);
+			if (this.regimeOf(index, (float) fixedPoint) != regime) {
+				this.update(index, outsideHumidityRate, outsideTemperature);
+				steps--;
+				continue;
+			}
+			this.temperatures[index] = (float) (fixedPoint + Math.pow(c, steps) * (temperature - fixedPoint));
+			// The humidity does not depend on the temperature and converges monotonically, clamping the result is exact
+			double humidityDecay = Math.pow(1 - (1 - this.isolationRates[index]) * .1, steps);
+			this.humidityRates[index] = (float) Math.max(Math.min(outsideHumidityRate + (humidityRate - outsideHumidityRate) * humidityDecay, 1), 0);
+			return;
+		}
+	}
+
+	/**
+	 * Tells which devices act on a room with closed windows at a given temperature, same conditions as update
+	 * @return a combination of HEATER_ACTING and AC_ACTING
+	 */
+	private int regimeOf(int index, float temperature) {
+		int regime = 0;
+		if (getBit(this.heatersOn, index) && this.heaterTemperatures[index] > temperature) {
+			regime |= HEATER_ACTING;
+			temperature = (temperature + this.heaterTemperatures[index]) / 2;
+		}
+		if (getBit(this.ACsOn, index) && this.ACTemperatures[index] < temperature) {
+			regime |= AC_ACTING;
+		}
+		return regime;
+	}
+
+	/**
+	 * Tells if all the rooms are in the same state. Connected rooms in the same state do not exchange anything
+	 * @return true if every room has the same values as the first one
+	 */
+	public boolean isUniform() {
+		for (int i = 1; i < this.size; i++) {
+			if (this.temperatures[i] != this.temperatures[0] || this.humidityRates[i] != this.humidityRates[0]
+					|| this.isolationRates[i] != this.isolationRates[0]
+					|| this.heaterTemperatures[i] != this.heaterTemperatures[0] || this.ACTemperatures[i] != this.ACTemperatures[0]
+					|| getBit(this.heatersOn, i) != getBit(this.heatersOn, 0) || getBit(this.ACsOn, i) != getBit(this.ACsOn, 0)
+					|| getBit(this.windowsOpen, i) != getBit(this.windowsOpen, 0)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the Zobrist-style hash of all the columns, see StateHash
+	 */
+	public long stateHash() {
+		long hash = 0;
+		for (int i = 0; i < this.size; i++) {
+			hash ^= StateHash.term(StateHash.ROOM_TEMPERATURE, i, this.temperatures[i])
+					^ StateHash.term(StateHash.ROOM_HUMIDITY_RATE, i, this.humidityRates[i])
+					^ StateHash.term(StateHash.ROOM_ISOLATION_RATE, i, this.isolationRates[i])
+					^ StateHash.term(StateHash.ROOM_HEATER_TEMPERATURE, i, this.heaterTemperatures[i])
+					^ StateHash.term(StateHash.ROOM_AC_TEMPERATURE, i, this.ACTemperatures[i]);
+		}
+		for (int word = 0; word < wordsFor(this.size); word++) {
+			hash ^= StateHash.term(StateHash.ROOM_HEATERS_ON, word, this.heatersOn[word])
+					^ StateHash.term(StateHash.ROOM_ACS_ON, word, this.ACsOn[word])
+					^ StateHash.term(StateHash.ROOM_WINDOWS_OPEN, word, this.windowsOpen[word]);
+		}
+		return hash;
+	}
+
+	/**
+	 * @return the mean temperature of the rooms, 0 if there is no room
+	 */
+	public float averageTemperature() {
+		return average(this.temperatures);
+	}
+
+	/**
+	 * @return the mean humidity rate of the rooms, 0 if there is no room
+	 */
+	public float averageHumidityRate() {
+		return average(this.humidityRates);
+	}
+
+	private float average(float[] column) {
+		if (this.size == 0) {
+			return 0;
+		}
+		float sum = 0;
+		for (int i = 0; i < this.size; i++) {
+			sum += column[i];
+		}
+		return sum / this.size;
+	}
+
+	/**
+	 * @return the number of rooms with the heater or the AC turned on
+	 */
+	public int countRoomsWithDeviceOn() {
+		int count = 0;
+		for (int word = 0; word < wordsFor(this.size); word++) {
+			count += Long.bitCount(this.heatersOn[word] | this.ACsOn[word]);
+		}
+		return count;
+	}
+
+	/**
+	 * Opens or closes the windows of all the rooms
+	 * @param status: true if the windows will be open, false otherwise
+	 */
+	public void setAllWindowsOpen(boolean status) {
+		this.ownDevices();
+		this.setAllBits(this.windowsOpen, status);
+	}
+
+	/**
+	 * Turns on all the heaters at a certain temperature
+	 * @param temperature: temperature of the heaters
+	 */
+	public void setAllHeatersTemperature(float temperature) {
+		this.ownDevices();
+		Arrays.fill(this.heaterTemperatures, 0, this.size, temperature);
+		this.setAllBits(this.heatersOn, true);
+	}
+
+	/**
+	 * Turns off all the heaters
+	 */
+	public void turnOffAllHeaters() {
+		this.ownDevices();
+		this.setAllBits(this.heatersOn, false);
+	}
+
+	/**
+	 * Turns on all the ACs at a certain temperature
+	 * @param temperature: temperature of the ACs
+	 */
+	public void setAllACTemperature(float temperature) {
+		this.ownDevices();
+		Arrays.fill(this.ACTemperatures, 0, this.size, temperature);
+		this.setAllBits(this.ACsOn, true);
+	}
+
+	/**
+	 * Turns off all the ACs
+	 */
+	public void turnOffAllAC() {
+		this.ownDevices();
+		this.setAllBits(this.ACsOn, false);
+	}
+
+	/**
+	 * Sets the isolation rate of all the rooms
+	 * @param isolationRate: isolation rate of the walls ([0,1])
+	 */
+	public void setAllIsolationRates(float isolationRate) {
+		this.ownIsolation();
+		Arrays.fill(this.isolationRates, 0, this.size, isolationRate);
+	}
+
+	/**
+	 * Getters and setters
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	public float getTemperature(int index) {
+		return this.temperatures[index];
+	}
+
+	public void setTemperature(int index, float temperature) {
+		this.ownThermal();
+		this.temperatures[index] = temperature;
+	}
+
+	public float getHumidityRate(int index) {
+		return this.humidityRates[index];
+	}
+
+	public void setHumidityRate(int index, float humidityRate) {
+		this.ownThermal();
+		this.humidityRates[index] = humidityRate;
+	}
+
+	public float getIsolationRate(int index) {
+		return this.isolationRates[index];
+	}
+
+	public void setIsolationRate(int index, float isolationRate) {
+		this.ownIsolation();
+		this.isolationRates[index] = isolationRate;
+	}
+
+	public float getHeaterTemperature(int index) {
+		return this.heaterTemperatures[index];
+	}
+
+	public void setHeaterTemperature(int index, float heaterTemperature) {
+		this.ownDevices();
+		this.heaterTemperatures[index] = heaterTemperature;
+	}
+
+	public boolean isHeaterTurnedOn(int index) {
+		return getBit(this.heatersOn, index);
+	}
+
+	public void setHeaterTurnedOn(int index, boolean heaterTurnedOn) {
+		this.ownDevices();
+		setBit(this.heatersOn, index, heaterTurnedOn);
+	}
+
+	public float getACTemperature(int index) {
+		return this.ACTemperatures[index];
+	}
+
+	public void setACTemperature(int index, float ACTemperature) {
+		this.ownDevices();
+		this.ACTemperatures[index] = ACTemperature;
+	}
+
+	public boolean isACTurnedOn(int index) {
+		return getBit(this.ACsOn, index);
+	}
+
+	public void setACTurnedOn(int index, boolean ACTurnedOn) {
+		this.ownDevices();
+		setBit(this.ACsOn, index, ACTurnedOn);
+	}
+
+	public boolean isWindowOpen(int index) {
+		return getBit(this.windowsOpen, index);
+	}
+
+	public void setWindowOpen(int index, boolean windowOpen) {
+		this.ownDevices();
+		setBit(this.windowsOpen, index, windowOpen);
+	}
+}
@@ -0,0 +1,46 @@
+/**
+ * @file StateHash.java
+ * @date 18/10/2026
+ * Zobrist-style hashing of the state of a game: every value of the state gives a term mixed from the field it belongs
+ * to, its index in the field and its bits, and the hash of a state is the XOR of its terms. Changing one value only
+ * replaces its term, so the hash of the parts of the state that rarely change is kept and only updated when they change
+ */
+package model;
+
+public final class StateHash {
+
+	// Fields of the state, each one gives its own keys to its values
+	static final int ROOM_TEMPERATURE = 0;
+	static final int ROOM_HUMIDITY_RATE = 1;
+	static final int ROOM_ISOLATION_RATE = 2;
+	static final int ROOM_HEATER_TEMPERATURE = 3;
+	static final int ROOM_AC_TEMPERATURE = 4;
+	static final int ROOM_HEATERS_ON = 5;
+	static final int ROOM_ACS_ON = 6;
+	static final int ROOM_WINDOWS_OPEN = 7;
+	static final int ROOM_CONNECTION = 8;
+	static final int HOUSE = 16;
+	static final int AUTOMATION_RULE = 17;
+	static final int PERSON = 18;
+	static final int PERSON_TASK = 19;
+	static final int WEATHER = 20;
+	static final int GAME = 21;
+	static final int AVAILABLE_TASK = 22;
+	public static final int PLAN = 32; // first field free for the hashes built outside of the model
+
+	private StateHash() {}
+
+	/**
+	 * @param field: field the value belongs to
+	 * @param index: index of the value in the field
+	 * @param bits: bits of the value
+	 * @return the term of the value
+	 */
+	public static long term(int field, int index, long bits) {
+		return GameRandom.mix(GameRandom.mix(((long) field << 32 | index & 0xffffffffL) * 0x9e3779b97f4a7c15L) + bits);
+	}
+
+	public static long term(int field, int index, float value) {
+		return term(field, index, Float.floatToIntBits(value));
+	}
+}
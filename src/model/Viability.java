@@ -0,0 +1,30 @@
+/**
+ * @file Viability.java
+ * @date 18/10/2026
+ * Result of the viability check of a house. The message shown to the player is only built when it is displayed
+ */
+package model;
+
+import static java.lang.Math.round;
+
+public enum Viability {
+
+	VIABLE, TEMPERATURE_TOO_HIGH, TEMPERATURE_TOO_LOW, HUMIDITY_TOO_HIGH, HUMIDITY_TOO_LOW, NOT_ENOUGH_MONEY, NOT_ENOUGH_ENERGY;
+
+	/**
+	 * Builds the message displayed to the player
+	 * @param value: offending value (temperature, humidity rate, money or energy)
+	 * @return the reason of the non-viability as a String, an empty String if the house is viable
+	 */
+	public String describe(float value) {
+		return switch (this) {
+			case VIABLE -> "";
+			case TEMPERATURE_TOO_HIGH -> "Temperature too high: " + round(value * 10) + "°C";
+			case TEMPERATURE_TOO_LOW -> "Temperature too low: " + round(value * 10) + "°C";
+			case HUMIDITY_TOO_HIGH -> "Humidity too high: " + round(value * 100) + "%";
+			case HUMIDITY_TOO_LOW -> "Humidity too low: " + round(value * 100) + "%";
+			case NOT_ENOUGH_MONEY -> "Not enough money to continue";
+			case NOT_ENOUGH_ENERGY -> "Not enough energy to continue";
+		};
+	}
+}
@@ -10,6 +10,8 @@ import static java.lang.Math.round;
 
 public class Weather {
 
+	public static final int LABEL_KEY_LENGTH = 2; // longs of the key of the displayed weather, see labelKey
+
 	private float temperature; // temperature of the environment
 	private float humidityRate; // humidity rate of the environment
 	private boolean isRainy; // tells if it is currently raining outside
@@ -48,31 +50,55 @@ public class Weather {
 		this.isLightning = false;
 	}
 	
+	/**
+	 * Copies the weather
+	 * @return the copy
+	 */
+	public Weather copy() {
+		Weather copy = new Weather(this.temperature, this.humidityRate);
+		copy.isRainy = this.isRainy;
+		copy.isSnowy = this.isSnowy;
+		copy.isSunny = this.isSunny;
+		copy.isLightning = this.isLightning;
+		copy.difficultyRate = this.difficultyRate;
+		return copy;
+	}
+
+	/**
+	 * @return the Zobrist-style hash of the weather, see StateHash
+	 */
+	public long stateHash() {
+		int sky = (this.isRainy ? 1 : 0) | (this.isSnowy ? 2 : 0) | (this.isSunny ? 4 : 0) | (this.isLightning ? 8 : 0);
+		return StateHash.term(StateHash.WEATHER, 0, this.temperature) ^ StateHash.term(StateHash.WEATHER, 1, this.humidityRate)
+				^ StateHash.term(StateHash.WEATHER, 2, this.difficultyRate) ^ StateHash.term(StateHash.WEATHER, 3, sky);
+	}
+
 	/**
 	 * Update the weather according to the day number
 	 * @param dayNumber: current day of the game
+	 * @param random: random generator of the game
 	 */
-	public void update(int dayNumber) {
+	public void update(int dayNumber, GameRandom random) {
 		this.updateDifficultyRate(dayNumber);
 
 		boolean wasRainy = this.isRainy;
-		this.setRainy(Math.random() < this.difficultyRate / 2);
+		this.setRainy(random.nextDouble() < this.difficultyRate / 2);
 		this.setSnowy(this.isRainy && this.temperature <= 0);
 		this.setSunny(!this.isRainy);
 		this.setLightning(false);
 
-		int temperatureChangeSign = Math.random() < .5 ? -1 : 1;
+		int temperatureChangeSign = random.nextDouble() < .5 ? -1 : 1;
 
-		this.temperature += temperatureChangeSign * Math.random() * this.difficultyRate * 20;
+		this.temperature += temperatureChangeSign * random.nextDouble() * this.difficultyRate * 20;
 		this.temperature += this.isSunny && wasRainy ? 5 : this.isRainy && !wasRainy ? -5 : 0;
 
 		if (this.isRainy) {
 			this.humidityRate = 1f;
-			this.setLightning(Math.random() < this.difficultyRate / 4);
+			this.setLightning(random.nextDouble() < this.difficultyRate / 4);
 		} else if (wasRainy) {
 			this.humidityRate = .5f;
 		} else {
-			this.humidityRate += temperatureChangeSign * Math.random() * this.difficultyRate * .1;
+			this.humidityRate += temperatureChangeSign * random.nextDouble() * this.difficultyRate * .1;
 		}
 	}
 
@@ -85,6 +111,16 @@ public class Weather {
 		this.difficultyRate = (float) (1 / (1 + Math.exp(-.5 * (dayNumber - 5))));
 	}
 
+	/**
+	 * Key of the values displayed by toString, without building the String: the displayed weather changes if and only if
+	 * its key changes
+	 * @param key: filled with the key, LABEL_KEY_LENGTH longs
+	 */
+	public void labelKey(long[] key) {
+		key[0] = (long) round(this.temperature * 10) << 32 | round(this.humidityRate * 100) & 0xffffffffL;
+		key[1] = isSnowy ? 0 : isLightning ? 1 : isRainy ? 2 : 3;
+	}
+
 	/**
 	 * Stringifies the weather to display it
 	 * @return the infos of the weather as a String
@@ -136,4 +172,12 @@ public class Weather {
 	public void setLightning(boolean lightning) {
 		this.isLightning = lightning;
 	}
+
+	public float getDifficultyRate() {
+		return this.difficultyRate;
+	}
+
+	public void setDifficultyRate(float difficultyRate) {
+		this.difficultyRate = difficultyRate;
+	}
 }
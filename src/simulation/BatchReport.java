@@ -0,0 +1,114 @@
+/**
+ * @file BatchReport.java
+ * @date 18/10/2026
+ * Statistics over all the games played by a BatchRunner
+ */
+package simulation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import model.Viability;
+
+public class BatchReport {
+
+	private final int[] survivalDays; // sorted numbers of days survived
+	private final int[] money; // sorted money of the families at the end of the games
+	private final int[] energy; // sorted energy of the houses at the end of the games
+	private final Map<Viability, Integer> gameOverReasons; // number of games per game over reason, VIABLE for the games still running after the maximum number of days
+	private final long elapsedNanos; // wall-clock duration of the batch
+
+	/**
+	 * Class constructor, the arrays are indexed by game and sorted by the constructor
+	 * @param survivalDays: number of days survived by each game
+	 * @param money: final money of each game
+	 * @param energy: final energy of each game
+	 * @param gameOverReasons: game over reason of each game
+	 * @param elapsedNanos: wall-clock duration of the batch
+	 */
+	BatchReport(int[] survivalDays, int[] money, int[] energy, Viability[] gameOverReasons, long elapsedNanos) {
+		this.survivalDays = survivalDays;
+		this.money = money;
+		this.energy = energy;
+		this.elapsedNanos = elapsedNanos;
+		Arrays.sort(this.survivalDays);
+		Arrays.sort(this.money);
+		Arrays.sort(this.energy);
+
+		EnumMap<Viability, Integer> reasons = new EnumMap<>(Viability.class);
+		for (Viability reason: gameOverReasons) {
+			reasons.merge(reason, 1, Integer::sum);
+		}
+		this.gameOverReasons = Collections.unmodifiableMap(reasons);
+	}
+
+	/**
+	 * Nearest-rank percentile of a sorted array
+	 * @param sorted: sorted values
+	 * @param percent: percentile in [0, 100]
+	 * @return the value at the percentile, 0 if there is no value
+	 */
+	private static int percentile(int[] sorted, double percent) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int rank = (int) Math.ceil(percent / 100 * sorted.length);
+		return sorted[Math.min(Math.max(rank - 1, 0), sorted.length - 1)];
+	}
+
+	public int survivalDaysPercentile(double percent) {
+		return percentile(this.survivalDays, percent);
+	}
+
+	public int moneyPercentile(double percent) {
+		return percentile(this.money, percent);
+	}
+
+	public int energyPercentile(double percent) {
+		return percentile(this.energy, percent);
+	}
+
+	/**
+	 * Stringifies the report to display it
+	 * @return the main statistics of the batch as a String
+	 */
+	public String toString() {
+		long totalDays = 0;
+		for (int days: this.survivalDays) {
+			totalDays += days;
+		}
+		double seconds = this.elapsedNanos / 1e9;
+		return "Games: " + this.getGamesCount() + ", game-days: " + totalDays + " in " + seconds + "s (" + Math.round(totalDays / seconds) + " game-days/s)\n" +
+				"Survival days - p10: " + survivalDaysPercentile(10) + ", p50: " + survivalDaysPercentile(50) + ", p90: " + survivalDaysPercentile(90) + ", mean: " + this.getMeanSurvivalDays() + "\n" +
+				"Money - p10: " + moneyPercentile(10) + ", p50: " + moneyPercentile(50) + ", p90: " + moneyPercentile(90) + "\n" +
+				"Energy - p10: " + energyPercentile(10) + ", p50: " + energyPercentile(50) + ", p90: " + energyPercentile(90) + "\n" +
+				"Game over reasons: " + this.gameOverReasons;
+	}
+
+	/**
+	 * Getters and setters
+	 */
+	public int getGamesCount() {
+		return this.survivalDays.length;
+	}
+
+	public double getMeanSurvivalDays() {
+		if (this.survivalDays.length == 0) {
+			return 0;
+		}
+		long totalDays = 0;
+		for (int days: this.survivalDays) {
+			totalDays += days;
+		}
+		return (double) totalDays / this.survivalDays.length;
+	}
+
+	public Map<Viability, Integer> getGameOverReasons() {
+		return this.gameOverReasons;
+	}
+
+	public long getElapsedNanos() {
+		return this.elapsedNanos;
+	}
+}
@@ -0,0 +1,127 @@
+/**
+ * @file BatchRunner.java
+ * @date 18/10/2026
+ * Plays many independent games in parallel with a strategy and gathers statistics on them
+ */
+package simulation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import model.Viability;
+
+public class BatchRunner {
+
+	private static final int GAMES_PER_TASK = 16; // number of games played sequentially by one fork-join leaf
+
+	private final ForkJoinPool pool; // pool the games are played on
+	private final int maxDays; // number of days after which a game still viable is stopped
+
+	/**
+	 * Class constructor using all the available cores
+	 * @param maxDays: number of days after which a game still viable is stopped
+	 */
+	public BatchRunner(int maxDays) {
+		this(ForkJoinPool.commonPool(), maxDays);
+	}
+
+	/**
+	 * Class constructor
+	 * @param pool: pool the games are played on
+	 * @param maxDays: number of days after which a game still viable is stopped
+	 */
+	public BatchRunner(ForkJoinPool pool, int maxDays) {
+		this.pool = pool;
+		this.maxDays = maxDays;
+	}
+
+	/**
+	 * Plays a number of games with random seeds, each one with its own strategy instance
+	 * @param gamesCount: number of games to play
+	 * @param strategyFactory: creates the strategy of each game, strategies must not share mutable state
+	 * @return the statistics of all the games
+	 */
+	public BatchReport run(int gamesCount, Supplier<? extends Strategy> strategyFactory) {
+		return this.run(gamesCount, ThreadLocalRandom.current().nextLong(), strategyFactory);
+	}
+
+	/**
+	 * Plays a number of games, each one with its own strategy instance. The game i is seeded with baseSeed + i,
+	 * so the same base seed always gives the same report
+	 * @param gamesCount: number of games to play
+	 * @param baseSeed: seed of the first game
+	 * @param strategyFactory: creates the strategy of each game, strategies must not share mutable state
+	 * @return the statistics of all the games
+	 */
+	public BatchReport run(int gamesCount, long baseSeed, Supplier<? extends Strategy> strategyFactory) {
+		int[] survivalDays = new int[gamesCount];
+		int[] money = new int[gamesCount];
+		int[] energy = new int[gamesCount];
+		Viability[] gameOverReasons = new Viability[gamesCount];
+
+		long start = System.nanoTime();
+		this.pool.invoke(new GamesTask(0, gamesCount, baseSeed, strategyFactory, survivalDays, money, energy, gameOverReasons));
+		return new BatchReport(survivalDays, money, energy, gameOverReasons, System.nanoTime() - start);
+	}
+
+	/**
+	 * Plays one game until it is over or reaches the maximum number of days, and stores its results at the index of the game
+	 */
+	private void playGame(int index, long seed, Strategy strategy, int[] survivalDays, int[] money, int[] energy, Viability[] gameOverReasons) {
+		GameEngine engine = new GameEngine(seed);
+		int days = 0;
+		boolean isViable = true;
+		while (isViable && days < this.maxDays) {
+			strategy.planDay(engine);
+			engine.runRemainingTasks();
+			strategy.buyPerks(engine);
+			isViable = engine.endDay();
+			if (isViable) {
+				days++;
+			}
+		}
+		survivalDays[index] = days;
+		money[index] = engine.getMoney();
+		energy[index] = engine.getEnergy();
+		gameOverReasons[index] = engine.getGameOverViability(); // VIABLE for the games stopped after the maximum number of days
+	}
+
+	/**
+	 * Fork-join task playing the games of a range of indexes. Every game writes only to its own slot of the result arrays
+	 */
+	private class GamesTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L; // never serialized, declared for the Serializable task
+
+		private final int from, to; // first game index, index after the last game
+		private final long baseSeed; // seed of the game 0
+		private final Supplier<? extends Strategy> strategyFactory; // creates the strategy of each game
+		private final int[] survivalDays, money, energy; // results indexed by game
+		private final Viability[] gameOverReasons; // game over reasons indexed by game
+
+		GamesTask(int from, int to, long baseSeed, Supplier<? extends Strategy> strategyFactory, int[] survivalDays, int[] money, int[] energy, Viability[] gameOverReasons) {
+			this.from = from;
+			this.to = to;
+			this.baseSeed = baseSeed;
+			this.strategyFactory = strategyFactory;
+			this.survivalDays = survivalDays;
+			this.money = money;
+			this.energy = energy;
+			this.gameOverReasons = gameOverReasons;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from <= GAMES_PER_TASK) {
+				for (int i = this.from; i < this.to; i++) {
+					playGame(i, this.baseSeed + i, this.strategyFactory.get(), this.survivalDays, this.money, this.energy, this.gameOverReasons);
+				}
+				return;
+			}
+			int middle = (this.from + this.to) >>> 1;
+			invokeAll(new GamesTask(this.from, middle, this.baseSeed, this.strategyFactory, this.survivalDays, this.money, this.energy, this.gameOverReasons),
+					new GamesTask(middle, this.to, this.baseSeed, this.strategyFactory, this.survivalDays, this.money, this.energy, this.gameOverReasons));
+		}
+	}
+}
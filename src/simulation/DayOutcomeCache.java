@@ -0,0 +1,241 @@
+/**
+ * @file DayOutcomeCache.java
+ * @date 18/10/2026
+ * Bounded memo of the tasks of a day: the state of a game after a plan of tasks has been done, keyed by the hash of the
+ * game before the tasks and the hash of the plan. The tasks do not draw from the random generator, so the same state
+ * and the same plan always give the same outcome and a hit skips the simulation of the tasks entirely. Each entry keeps
+ * the plan, the day, the money and the stamina it was simulated from, a hit is confirmed against them so that a collision
+ * of the 64-bit hashes cannot hand out the outcome of another state, and the returned copy takes the seed and the random
+ * generator of the caller's game, not of the game that filled the entry.
+ * The entries are spread over segments, each one a least recently used map with its own lock, so that the workers of
+ * the planners rarely wait for each other
+ */
+package simulation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import model.Game;
+import model.Person;
+import model.StateHash;
+import model.Task;
+import model.Viability;
+
+public class DayOutcomeCache {
+
+	private static final int SEGMENTS_COUNT = 16; // number of independent locks, a power of two
+
+	/**
+	 * State of the game once the tasks are done, never changed once cached: callers get copies
+	 * @param game: game at the end of the tasks, before the day ends
+	 * @param viability: viability of the house at the end of the tasks
+	 * @param plan: tasks of each person the outcome was simulated with
+	 * @param dayNumber: day of the game before the tasks
+	 * @param money: money of the family before the tasks
+	 * @param staminas: stamina of each person before the tasks, in the order of the family
+	 */
+	private record Outcome(Game game, Viability viability, Map<Integer, List<Task>> plan, int dayNumber, int money, int[] staminas) {
+
+		/**
+		 * Tells if the outcome was simulated from a game and a plan, confirms a hit of the hash
+		 * @return True if the plan, the day, the money and the staminas are the same, false otherwise
+		 */
+		boolean isOutcomeOf(Game game, Map<Integer, List<Task>> tasksByPerson) {
+			if (game.getDayNumber() != this.dayNumber || game.getHouse().getFamily().getMoney() != this.money
+					|| !this.plan.equals(tasksByPerson)) {
+				return false;
+			}
+			List<Person> persons = game.getHouse().getFamily().getPersons();
+			if (persons.size() != this.staminas.length) {
+				return false;
+			}
+			for (int i = 0; i < this.staminas.length; i++) {
+				if (persons.get(i).getStamina() != this.staminas[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Least recently used map of a segment
+	 */
+	private static class Segment extends LinkedHashMap<Long, Outcome> {
+
+		private static final long serialVersionUID = 1L; // never serialized, declared for the Serializable map
+
+		private final int capacity; // maximum number of entries of the segment
+		private final LongAdder evictions; // shared eviction counter of the cache
+
+		Segment(int capacity, LongAdder evictions) {
+			super(16, .75f, true);
+			this.capacity = capacity;
+			this.evictions = evictions;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, Outcome> eldest) {
+			if (this.size() > this.capacity) {
+				this.evictions.increment();
+				return true;
+			}
+			return false;
+		}
+	}
+
+	private final Segment[] segments; // entries spread by hash
+	private final LongAdder hits; // lookups answered from the cache
+	private final LongAdder misses; // lookups that had to simulate the tasks
+	private final LongAdder evictions; // entries removed to respect the capacity
+
+	/**
+	 * Class constructor
+	 * @param capacity: maximum number of outcomes kept
+	 */
+	public DayOutcomeCache(int capacity) {
+		this.hits = new LongAdder();
+		this.misses = new LongAdder();
+		this.evictions = new LongAdder();
+		this.segments = new Segment[SEGMENTS_COUNT];
+		int segmentCapacity = Math.max(1, capacity / SEGMENTS_COUNT);
+		for (int i = 0; i < SEGMENTS_COUNT; i++) {
+			this.segments[i] = new Segment(segmentCapacity, this.evictions);
+		}
+	}
+
+	/**
+	 * Does a plan of tasks on a copy of a game, or takes the outcome from the cache if the same plan has already been done
+	 * from the same state. The game itself is not changed
+	 * @param game: game before the tasks of the day
+	 * @param tasksByPerson: tasks of each person, by ID of the person, in execution order. The persons missing keep their tasks
+	 * @return a new game once all the tasks are done, before the day ends, with the seed and the random generator of the
+	 * game given: the caller owns it and can change it
+	 */
+	public Game playTasks(Game game, Map<Integer, List<Task>> tasksByPerson) {
+		return this.outcomeOf(game, tasksByPerson).game().copyWithRandomOf(game);
+	}
+
+	/**
+	 * Tells the viability the house would have after a plan of tasks, from the cache if possible
+	 * @return the viability at the end of the tasks, before the day ends
+	 */
+	public Viability viabilityAfter(Game game, Map<Integer, List<Task>> tasksByPerson) {
+		return this.outcomeOf(game, tasksByPerson).viability();
+	}
+
+	private Outcome outcomeOf(Game game, Map<Integer, List<Task>> tasksByPerson) {
+		long key = game.stateHash() * 31 + planHash(tasksByPerson);
+		Segment segment = this.segments[(int) (key ^ key >>> 32) & (SEGMENTS_COUNT - 1)];
+		Outcome outcome;
+		synchronized (segment) {
+			outcome = segment.get(key);
+		}
+		if (outcome != null && outcome.isOutcomeOf(game, tasksByPerson)) {
+			this.hits.increment();
+			return outcome;
+		}
+		this.misses.increment();
+
+		Game simulated = game.copy();
+		GameEngine engine = new GameEngine(simulated);
+		tasksByPerson.forEach((personId, tasks) -> {
+			engine.resetTasks(personId);
+			tasks.forEach(task -> engine.planTask(personId, task.ID()));
+		});
+		engine.runRemainingTasks();
+		outcome = new Outcome(simulated, simulated.getHouse().isViable(), copyPlan(tasksByPerson), game.getDayNumber(),
+				game.getHouse().getFamily().getMoney(), staminasOf(game));
+		synchronized (segment) {
+			segment.put(key, outcome);
+		}
+		return outcome;
+	}
+
+	/**
+	 * @return a copy of a plan the caller cannot change afterwards
+	 */
+	private static Map<Integer, List<Task>> copyPlan(Map<Integer, List<Task>> tasksByPerson) {
+		Map<Integer, List<Task>> plan = new HashMap<>();
+		tasksByPerson.forEach((personId, tasks) -> plan.put(personId, new ArrayList<>(tasks)));
+		return plan;
+	}
+
+	/**
+	 * @return the stamina of each person of a game, in the order of the family
+	 */
+	private static int[] staminasOf(Game game) {
+		List<Person> persons = game.getHouse().getFamily().getPersons();
+		int[] staminas = new int[persons.size()];
+		for (int i = 0; i < staminas.length; i++) {
+			staminas[i] = persons.get(i).getStamina();
+		}
+		return staminas;
+	}
+
+	/**
+	 * @return the Zobrist-style hash of a plan, see StateHash
+	 */
+	private static long planHash(Map<Integer, List<Task>> tasksByPerson) {
+		long hash = 0;
+		for (Map.Entry<Integer, List<Task>> entry: tasksByPerson.entrySet()) {
+			List<Task> tasks = entry.getValue();
+			hash ^= StateHash.term(StateHash.PLAN, entry.getKey() << 16 | 0xffff, tasks.size());
+			for (int i = 0; i < tasks.size(); i++) {
+				hash ^= StateHash.term(StateHash.PLAN, entry.getKey() << 16 | i, tasks.get(i).ID());
+			}
+		}
+		return hash;
+	}
+
+	/**
+	 * Removes all the outcomes, the metrics are kept
+	 */
+	public void clear() {
+		for (Segment segment: this.segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+	/**
+	 * Getters and setters
+	 */
+	public long getHits() {
+		return this.hits.sum();
+	}
+
+	public long getMisses() {
+		return this.misses.sum();
+	}
+
+	public long getEvictions() {
+		return this.evictions.sum();
+	}
+
+	public double getHitRate() {
+		long hits = this.getHits();
+		long lookups = hits + this.getMisses();
+		return lookups == 0 ? 0 : hits / (double) lookups;
+	}
+
+	public int size() {
+		int size = 0;
+		for (Segment segment: this.segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Day outcome cache - %d entries, %d hits, %d misses (%.1f%% hits), %d evictions",
+				this.size(), this.getHits(), this.getMisses(), this.getHitRate() * 100, this.getEvictions());
+	}
+}
@@ -0,0 +1,18 @@
+/**
+ * @file DistrictMetrics.java
+ * @date 18/10/2026
+ * Aggregated state of all the houses of a neighborhood
+ */
+package simulation;
+
+public record DistrictMetrics(int dayNumber, int housesCount, int viableHousesCount, long totalMoney, long totalEnergy, float meanTemperature, float meanHumidityRate) {
+
+	/**
+	 * Stringifies the metrics to display them
+	 * @return the main metrics of the district as a String
+	 */
+	public String toString() {
+		return "District - day " + dayNumber + ", viable houses: " + viableHousesCount + "/" + housesCount + ", money: " + totalMoney + ", energy: " + totalEnergy
+				+ ", T: " + (float) Math.round(meanTemperature * 10) / 10 + "°C, humidity: " + Math.round(meanHumidityRate * 100) + "%";
+	}
+}
@@ -0,0 +1,113 @@
+/**
+ * @file EventKernel.java
+ * @date 18/10/2026
+ * Discrete-event simulation of a day: tasks have a duration and every person goes through their own tasks at their own pace.
+ * Events are kept in a priority queue ordered by time and the house jumps directly from one event to the next one
+ */
+package simulation;
+
+import java.util.PriorityQueue;
+import model.Game;
+import model.Person;
+import model.Task;
+
+public class EventKernel {
+
+	/**
+	 * Types of events, events happening at the same time are processed in this order
+	 */
+	public enum EventType {
+		TASK_END, TASK_START, DAY_END
+	}
+
+	private record Event(long time, EventType type, long sequence, Person person, Task task) implements Comparable<Event> {
+		@Override
+		public int compareTo(Event other) {
+			if (this.time != other.time) {
+				return Long.compare(this.time, other.time);
+			}
+			if (this.type != other.type) {
+				return this.type.compareTo(other.type);
+			}
+			return Long.compare(this.sequence, other.sequence);
+		}
+	}
+
+	private final Game game; // game simulated
+	private final PriorityQueue<Event> events; // pending events ordered by time
+	private long now; // current time of the day, in task slots (one house update per slot)
+	private long sequence; // number of events scheduled, keeps the scheduling order for simultaneous events
+	private int processedEventsCount; // number of events processed since the creation of the kernel
+
+	/**
+	 * Class constructor
+	 * @param game: game to simulate
+	 */
+	public EventKernel(Game game) {
+		this.game = game;
+		this.events = new PriorityQueue<>();
+		this.now = 0;
+		this.sequence = 0;
+		this.processedEventsCount = 0;
+	}
+
+	/**
+	 * Duration of a task in task slots, the stamina it needs or gives with a minimum of one slot
+	 * @param task: task to measure
+	 * @return the duration of the task
+	 */
+	public static int durationOf(Task task) {
+		return Math.max(1, Math.abs(task.stamina()));
+	}
+
+	private void schedule(long time, EventType type, Person person, Task task) {
+		this.events.add(new Event(time, type, this.sequence++, person, task));
+	}
+
+	/**
+	 * Simulates the tasks planned by every person, then ends the day once the last task is completed
+	 * @return true if the house is still viable at the end of the day, false if the game is over
+	 */
+	public boolean runDay() {
+		this.events.clear();
+		this.now = 0;
+		long dayEnd = 0;
+		for (Person person: this.game.getHouse().getFamily().getPersons()) {
+			long time = 0;
+			for (Task task: person.getTasks()) {
+				this.schedule(time, EventType.TASK_START, person, task);
+				time += durationOf(task);
+				this.schedule(time, EventType.TASK_END, person, task);
+			}
+			dayEnd = Math.max(dayEnd, time);
+		}
+		this.schedule(dayEnd, EventType.DAY_END, null, null);
+
+		while (!this.events.isEmpty()) {
+			Event event = this.events.poll();
+			this.game.idle((int) (event.time() - this.now)); // nothing changes the devices between two events
+			this.now = event.time();
+			this.processedEventsCount++;
+			switch (event.type()) {
+				case TASK_START -> this.game.startTask(event.task());
+				case TASK_END -> this.game.completeTask(event.person(), event.task());
+				case DAY_END -> { // perks daily costs and weather change, in the order of Game.onNewDay
+					this.events.clear();
+					return this.game.onNewDay();
+				}
+			}
+		}
+		return this.game.onNewDay();
+	}
+
+	/**
+	 * Getters and setters
+	 */
+	public long getTime() {
+		return this.now;
+	}
+
+	public int getProcessedEventsCount() {
+		return this.processedEventsCount;
+	}
+}
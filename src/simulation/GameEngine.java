@@ -0,0 +1,205 @@
+/**
+ * @file GameEngine.java
+ * @date 18/10/2026
+ * Headless driver of a game: plans tasks, executes them one by one, ends the day and buys perks without any UI
+ */
+package simulation;
+
+import model.Game;
+import model.Person;
+import model.Task;
+import model.Viability;
+
+public class GameEngine {
+
+	private final Game game; // game model driven by the engine
+	private int currentTaskIndex; // index of the last executed task of the day, -1 when the day has not started
+	private boolean isGameOver; // true once a new day has been refused because the house is not viable
+	private EventKernel eventKernel; // used to play days where tasks have a duration, created on first use
+
+	/**
+	 * Class constructor starting a new game
+	 */
+	public GameEngine() {
+		this(new Game());
+	}
+
+	/**
+	 * Class constructor starting a new game with a given seed, used to replay a game
+	 * @param seed: seed of the random generator of the game
+	 */
+	public GameEngine(long seed) {
+		this(new Game(seed));
+	}
+
+	/**
+	 * Class constructor driving an existing game, for instance a loaded save
+	 * @param game: game to drive
+	 */
+	public GameEngine(Game game) {
+		this.game = game;
+		this.currentTaskIndex = -1;
+		this.isGameOver = false;
+	}
+
+	/**
+	 * Adds a task at the end of the task list of a person if the person has enough stamina for it
+	 * @param personId: ID of the person
+	 * @param taskId: ID of the task to add
+	 * @return true if the task has been added, false otherwise
+	 */
+	public boolean planTask(int personId, int taskId) {
+		Task task = this.game.findTaskFromId(taskId);
+		Person person = this.game.getHouse().getFamily().getPersonsFromId(personId);
+		if (task == null || person == null) {
+			return false;
+		}
+		if ((task.stamina() + person.getResultingStaminaForCurrentTasks()) * -1 > person.getMaxStamina()) { // * -1 because stamina decreases for task that needs it
+			return false;
+		}
+		int tasksCount = person.getTasks().size();
+		person.addTask(task);
+		return person.getTasks().size() > tasksCount;
+	}
+
+	/**
+	 * Removes all the planned tasks of a person
+	 * @param personId: ID of the person
+	 */
+	public void resetTasks(int personId) {
+		Person person = this.game.getHouse().getFamily().getPersonsFromId(personId);
+		if (person != null) {
+			person.getTasks().clear();
+		}
+	}
+
+	/**
+	 * Executes the next task of every person
+	 * @return true if there are still tasks to execute in the day, false otherwise
+	 */
+	public boolean stepTask() {
+		if (this.hasNextTask()) {
+			this.currentTaskIndex++;
+			this.game.doNthTaskOfAllPersons(this.currentTaskIndex);
+		}
+		return this.hasNextTask();
+	}
+
+	/**
+	 * Executes all the tasks of the day that are not done yet
+	 */
+	public void runRemainingTasks() {
+		while (this.stepTask());
+	}
+
+	/**
+	 * Lets time pass without any task, for instance to skip to the end of the day
+	 * @param steps: number of idle task slots
+	 */
+	public void idle(int steps) {
+		this.game.idle(steps);
+	}
+
+	/**
+	 * Ends the current day, tasks that are not done yet are dropped
+	 * @return true if the house is still viable, false if the game is over
+	 */
+	public boolean endDay() {
+		if (this.isGameOver) {
+			return false;
+		}
+		this.currentTaskIndex = -1;
+		this.isGameOver = !this.game.onNewDay();
+		return !this.isGameOver;
+	}
+
+	/**
+	 * Ends the current day without changing the weather, used when the weather is shared with other games
+	 * @return true if the house is still viable, false if the game is over
+	 */
+	boolean settleDay() {
+		if (this.isGameOver) {
+			return false;
+		}
+		this.currentTaskIndex = -1;
+		this.isGameOver = !this.game.settleDay();
+		return !this.isGameOver;
+	}
+
+	/**
+	 * Plays the whole day with the event kernel: the tasks last as many task slots as the stamina they need or give,
+	 * and every person goes through their tasks at their own pace. The day ends once the last task is completed
+	 * @return true if the house is still viable, false if the game is over
+	 */
+	public boolean playDayWithDurations() {
+		if (this.isGameOver) {
+			return false;
+		}
+		if (this.eventKernel == null) {
+			this.eventKernel = new EventKernel(this.game);
+		}
+		this.currentTaskIndex = -1;
+		this.isGameOver = !this.eventKernel.runDay();
+		return !this.isGameOver;
+	}
+
+	/**
+	 * Buys a perk if the family can afford it
+	 * @param perkId: ID of the perk to buy
+	 * @return true if the perk has been bought, false otherwise
+	 */
+	public boolean buyPerk(int perkId) {
+		return this.game.buyPerkFromId(perkId);
+	}
+
+	/**
+	 * Tells if at least one person still has a task to execute today
+	 * @return true if there is a next task, false otherwise
+	 */
+	public boolean hasNextTask() {
+		return this.currentTaskIndex + 1 < this.getTasksCount();
+	}
+
+	/**
+	 * Getters and setters
+	 */
+	public int getTasksCount() {
+		int tasksCount = 0;
+		for (Person person: this.game.getHouse().getFamily().getPersons()) {
+			tasksCount = Math.max(person.getTasks().size(), tasksCount);
+		}
+		return tasksCount;
+	}
+
+	public int getCurrentTaskIndex() {
+		return this.currentTaskIndex;
+	}
+
+	public boolean isGameOver() {
+		return this.isGameOver;
+	}
+
+	public int getDayNumber() {
+		return this.game.getDayNumber();
+	}
+
+	public int getMoney() {
+		return this.game.getHouse().getFamily().getMoney();
+	}
+
+	public int getEnergy() {
+		return this.game.getHouse().getEnergy();
+	}
+
+	public String getGameOverReason() {
+		return this.game.getGameOverReason();
+	}
+
+	public Viability getGameOverViability() {
+		return this.game.getGameOverViability();
+	}
+
+	public Game getGame() {
+		return this.game;
+	}
+}
@@ -0,0 +1,300 @@
+/**
+ * @file MctsAgent.java
+ * @date 18/10/2026
+ * Plans several days ahead with a Monte Carlo tree search. The actions of a day are the best plans of the TaskPlanner,
+ * alone or followed by the purchase of a perk. Each iteration replays a sequence of days from the current game on a copy
+ * whose random generator is reseeded, so that the weather of the coming days is sampled again at every iteration.
+ * The search is root-parallel: each worker grows its own tree until the time budget is spent, then the visits of the
+ * actions of the first day are summed over the workers. The recommended action is the most visited one
+ */
+package simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import model.Game;
+import model.GameRandom;
+import model.Perk;
+
+public class MctsAgent implements Strategy {
+
+	private static final int PLANS_COUNT = 4; // number of plans of the TaskPlanner tried each day
+	private static final double EXPLORATION = Math.sqrt(2); // exploration constant of UCT
+
+	/**
+	 * Decision of a day: a plan of the tasks and a perk to buy once the tasks are done
+	 * @param plan: tasks of the persons
+	 * @param perkId: ID of the perk to buy, -1 to buy nothing
+	 */
+	public record DayAction(TaskPlanner.FamilyPlan plan, int perkId) {
+
+		/**
+		 * Headless step of the game: plays the whole day with this action and ends it
+		 * @param engine: engine driving the game
+		 * @return true if the house is still viable, false if the game is over
+		 */
+		public boolean playOn(GameEngine engine) {
+			this.plan.applyTo(engine);
+			engine.runRemainingTasks();
+			if (this.perkId != -1) {
+				engine.buyPerk(this.perkId);
+			}
+			return engine.endDay();
+		}
+	}
+
+	/**
+	 * Action recommended by the search
+	 * @param action: action to play today
+	 * @param confidence: part of the iterations of the search that went through this action ([0,1])
+	 * @param expectedReward: mean reward of the iterations through this action ([0,1])
+	 * @param iterations: number of iterations of the search over all the workers
+	 */
+	public record Recommendation(DayAction action, double confidence, double expectedReward, long iterations) {}
+
+	/**
+	 * Node of the tree of a worker, the state is not stored since it is replayed from the root at each iteration
+	 */
+	private static class Node {
+
+		private final Node[] children; // child of each action, null when not expanded yet
+		private int visits; // number of iterations through the node
+		private double totalReward; // sum of the rewards of the iterations through the node
+
+		Node(int actionsCount) {
+			this.children = new Node[actionsCount];
+		}
+	}
+
+	private final ForkJoinPool pool; // pool the workers run on
+	private final int workersCount; // number of trees grown in parallel
+	private final int horizon; // number of days simulated by each iteration
+	private final long timeBudgetNanos; // time given to each search
+	private final DayOutcomeCache dayOutcomes; // outcomes of the tasks of the days already simulated, shared with the planner
+	private final TaskPlanner taskPlanner; // gives the candidate plans of each day
+	private final GameRandom random; // seeds the workers
+	private Recommendation lastRecommendation; // recommendation of the day being played, used by buyPerks
+
+	/**
+	 * Class constructor using all the available cores, looking 5 days ahead within 200 ms
+	 */
+	public MctsAgent() {
+		this(ForkJoinPool.commonPool(), ForkJoinPool.commonPool().getParallelism(), 5, 200, new GameRandom(System.nanoTime()));
+	}
+
+	/**
+	 * Class constructor
+	 * @param pool: pool the workers run on
+	 * @param workersCount: number of trees grown in parallel
+	 * @param horizon: number of days simulated by each iteration
+	 * @param timeBudgetMillis: time given to each search in milliseconds
+	 * @param random: seeds the workers
+	 */
+	public MctsAgent(ForkJoinPool pool, int workersCount, int horizon, long timeBudgetMillis, GameRandom random) {
+		this.pool = pool;
+		this.workersCount = Math.max(1, workersCount);
+		this.horizon = horizon;
+		this.timeBudgetNanos = timeBudgetMillis * 1_000_000;
+		this.dayOutcomes = new DayOutcomeCache(1 << 16);
+		this.taskPlanner = new TaskPlanner(TaskPlanner.PlanObjective.BALANCED, this.dayOutcomes);
+		this.random = random;
+	}
+
+	/**
+	 * Searches the best action of the day for the current state of a game, the game is not changed
+	 * @param game: game to plan, with no task done yet today
+	 * @return the recommended action, null if the persons cannot do any task
+	 */
+	public Recommendation recommend(Game game) {
+		long deadline = System.nanoTime() + this.timeBudgetNanos;
+		List<DayAction> actions = this.actionsOf(game);
+		if (actions.isEmpty()) {
+			return null;
+		}
+
+		List<Callable<Node>> workers = new ArrayList<>();
+		for (int i = 0; i < this.workersCount; i++) {
+			GameRandom workerRandom = this.random.split();
+			workers.add(() -> this.search(game, actions, workerRandom, deadline));
+		}
+		int[] visits = new int[actions.size()];
+		double[] rewards = new double[actions.size()];
+		long iterations = 0;
+		for (Future<Node> future: this.pool.invokeAll(workers)) {
+			Node root;
+			try {
+				root = future.get();
+			} catch (InterruptedException | ExecutionException e) {
+				throw new IllegalStateException("Search worker failed", e);
+			}
+			iterations += root.visits;
+			for (int a = 0; a < actions.size(); a++) {
+				if (root.children[a] != null) {
+					visits[a] += root.children[a].visits;
+					rewards[a] += root.children[a].totalReward;
+				}
+			}
+		}
+
+		int best = 0;
+		for (int a = 1; a < actions.size(); a++) {
+			if (visits[a] > visits[best]) {
+				best = a;
+			}
+		}
+		double confidence = iterations == 0 ? 0 : visits[best] / (double) iterations;
+		double expectedReward = visits[best] == 0 ? 0 : rewards[best] / visits[best];
+		return new Recommendation(actions.get(best), confidence, expectedReward, iterations);
+	}
+
+	@Override
+	public void planDay(GameEngine engine) {
+		this.lastRecommendation = this.recommend(engine.getGame());
+		if (this.lastRecommendation != null) {
+			this.lastRecommendation.action().plan().applyTo(engine);
+		}
+	}
+
+	@Override
+	public void buyPerks(GameEngine engine) {
+		if (this.lastRecommendation != null && this.lastRecommendation.action().perkId() != -1) {
+			engine.buyPerk(this.lastRecommendation.action().perkId());
+		}
+	}
+
+	/**
+	 * Actions of a day: every candidate plan alone, and the best plan followed by each perk the family can afford
+	 */
+	private List<DayAction> actionsOf(Game game) {
+		List<TaskPlanner.FamilyPlan> plans = this.taskPlanner.planCandidates(game, PLANS_COUNT);
+		List<DayAction> actions = new ArrayList<>();
+		plans.forEach(plan -> actions.add(new DayAction(plan, -1)));
+		if (!plans.isEmpty()) {
+			for (Perk perk: game.getAvailablePerks()) {
+				if (perk.installationCost() <= plans.get(0).money()) {
+					actions.add(new DayAction(plans.get(0), perk.ID()));
+				}
+			}
+		}
+		return actions;
+	}
+
+	/**
+	 * Grows a tree until the deadline, the actions of the first day are used for all the days
+	 * @return the root of the tree
+	 */
+	private Node search(Game game, List<DayAction> actions, GameRandom random, long deadline) {
+		Node root = new Node(actions.size());
+		int startMoney = game.getHouse().getFamily().getMoney();
+		List<Node> path = new ArrayList<>();
+		do {
+			path.clear();
+			path.add(root);
+
+			// Selection and expansion
+			Node node = root;
+			Game current = game;
+			int days = 0;
+			boolean isViable = true;
+			boolean isExpanded = false;
+			while (isViable && days < this.horizon && !isExpanded) {
+				int a = this.select(node);
+				if (node.children[a] == null) {
+					node.children[a] = new Node(actions.size());
+					isExpanded = true;
+				}
+				node = node.children[a];
+				path.add(node);
+				GameEngine engine = this.playDay(current, current == game, actions.get(a), random.nextLong());
+				current = engine.getGame();
+				isViable = !engine.isGameOver();
+				days += isViable ? 1 : 0;
+			}
+
+			// Rollout without buying perks
+			while (isViable && days < this.horizon) {
+				DayAction action;
+				do {
+					action = actions.get((int) (random.nextDouble() * actions.size()));
+				} while (action.perkId() != -1);
+				GameEngine engine = this.playDay(current, current == game, action, random.nextLong());
+				current = engine.getGame();
+				isViable = !engine.isGameOver();
+				days += isViable ? 1 : 0;
+			}
+
+			double reward = this.rewardOf(days, startMoney, current.getHouse().getFamily().getMoney());
+			for (Node visited: path) {
+				visited.visits++;
+				visited.totalReward += reward;
+			}
+		} while (System.nanoTime() < deadline);
+		return root;
+	}
+
+	/**
+	 * Plays a whole day of an action from a state, then reseeds the random generator to sample the weather of the next day.
+	 * The tasks do not depend on the random generator, so the tasks of the first day, always played from the same state,
+	 * are taken from the cache of the day outcomes. The states of the next days are sampled and almost never seen twice,
+	 * caching them would only cost a hash and a copy per day
+	 * @param game: state at the start of the day, not changed
+	 * @param isFirstDay: true if the state is the game searched
+	 * @param seed: seed of the random generator from the end of the tasks
+	 * @return the engine of the state of the next day, over if the house is no longer viable
+	 */
+	private GameEngine playDay(Game game, boolean isFirstDay, DayAction action, long seed) {
+		GameEngine engine;
+		if (isFirstDay) {
+			engine = new GameEngine(this.dayOutcomes.playTasks(game, action.plan().tasksByPerson()));
+		} else {
+			engine = new GameEngine(game.copy());
+			action.plan().applyTo(engine);
+			engine.runRemainingTasks();
+		}
+		engine.getGame().getRandom().setState(seed);
+		if (action.perkId() != -1) {
+			engine.buyPerk(action.perkId());
+		}
+		engine.endDay();
+		return engine;
+	}
+
+	/**
+	 * Chooses the next action from a node: the first action never tried, otherwise the best one for UCT
+	 */
+	private int select(Node node) {
+		int best = -1;
+		double bestValue = Double.NEGATIVE_INFINITY;
+		double logVisits = Math.log(Math.max(1, node.visits));
+		for (int a = 0; a < node.children.length; a++) {
+			Node child = node.children[a];
+			if (child == null) {
+				return a;
+			}
+			double value = child.totalReward / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+			if (value > bestValue) {
+				best = a;
+				bestValue = value;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Reward of an iteration in [0,1]: mostly the part of the horizon survived, then the money earned
+	 */
+	private double rewardOf(int days, int startMoney, int endMoney) {
+		double moneyGained = Math.max(0, endMoney - startMoney) / 1000.0;
+		return .9 * days / this.horizon + .1 * moneyGained / (1 + moneyGained);
+	}
+
+	/**
+	 * Getters and setters
+	 */
+	public DayOutcomeCache getDayOutcomes() {
+		return this.dayOutcomes;
+	}
+}
@@ -0,0 +1,225 @@
+/**
+ * @file Neighborhood.java
+ * @date 18/10/2026
+ * District made of many houses, each one with its own family, rooms and power generators, all under the same weather.
+ * The houses are split into fixed shards updated in parallel on a fork-join pool
+ */
+package simulation;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import model.Game;
+import model.GameRandom;
+import model.House;
+import model.Weather;
+
+public class Neighborhood {
+
+	private static final int SHARDS_PER_THREAD = 4; // more shards than threads so that work stealing balances slow shards
+
+	private final Weather weather; // weather shared by all the houses
+	private final GameRandom random; // random generator of the weather
+	private int dayNumber; // current day number in the district
+	private final ArrayList<GameEngine> houses; // one game per house
+	private final ForkJoinPool pool; // pool the shards are updated on
+	private final int[] shardStarts; // houses of the shard i are at [shardStarts[i], shardStarts[i + 1])
+	private final boolean[] shardHasNextTask; // result of the last step of each shard
+	private final ShardSums[] shardSums; // sums of the houses of each shard, filled again by getMetrics
+
+	/**
+	 * Class constructor using the common pool
+	 * @param housesCount: number of houses in the district
+	 * @param seed: seed of the district, the houses and the weather are derived from it
+	 */
+	public Neighborhood(int housesCount, long seed) {
+		this(housesCount, seed, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Class constructor
+	 * @param housesCount: number of houses in the district
+	 * @param seed: seed of the district, the houses and the weather are derived from it
+	 * @param pool: pool the shards are updated on
+	 */
+	public Neighborhood(int housesCount, long seed, ForkJoinPool pool) {
+		this.weather = new Weather();
+		this.random = new GameRandom(seed);
+		this.dayNumber = 0;
+		this.pool = pool;
+		this.houses = new ArrayList<>(housesCount);
+		for (int i = 0; i < housesCount; i++) {
+			this.houses.add(new GameEngine(new Game(this.random.nextLong(), this.weather, 0)));
+		}
+
+		int shardsCount = Math.max(1, Math.min(housesCount, pool.getParallelism() * SHARDS_PER_THREAD));
+		this.shardStarts = new int[shardsCount + 1];
+		for (int i = 0; i <= shardsCount; i++) {
+			this.shardStarts[i] = (int) ((long) housesCount * i / shardsCount);
+		}
+		this.shardHasNextTask = new boolean[shardsCount];
+		this.shardSums = new ShardSums[shardsCount];
+		for (int i = 0; i < shardsCount; i++) {
+			this.shardSums[i] = new ShardSums();
+		}
+	}
+
+	/**
+	 * Lets a strategy plan the day of every house still viable. The strategy is shared by the shards and must not keep mutable state
+	 * @param strategy: strategy planning the tasks
+	 */
+	public void planDay(Strategy strategy) {
+		this.forEachShard(shard -> {
+			for (int i = this.shardStarts[shard]; i < this.shardStarts[shard + 1]; i++) {
+				GameEngine house = this.houses.get(i);
+				if (!house.isGameOver()) {
+					strategy.planDay(house);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Executes the next task of every person of every house still viable
+	 * @return true if at least one house still has tasks to execute today
+	 */
+	public boolean stepTask() {
+		this.forEachShard(shard -> {
+			boolean hasNextTask = false;
+			for (int i = this.shardStarts[shard]; i < this.shardStarts[shard + 1]; i++) {
+				GameEngine house = this.houses.get(i);
+				if (!house.isGameOver()) {
+					hasNextTask |= house.stepTask();
+				}
+			}
+			this.shardHasNextTask[shard] = hasNextTask;
+		});
+		for (boolean hasNextTask: this.shardHasNextTask) {
+			if (hasNextTask) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Ends the day of every house still viable, then changes the weather of the district once
+	 * @return the metrics of the district at the beginning of the new day
+	 */
+	public DistrictMetrics onNewDay() {
+		this.forEachShard(shard -> {
+			for (int i = this.shardStarts[shard]; i < this.shardStarts[shard + 1]; i++) {
+				this.houses.get(i).settleDay();
+			}
+		});
+		this.dayNumber++;
+		this.weather.update(this.dayNumber, this.random);
+		return this.getMetrics();
+	}
+
+	/**
+	 * Aggregates the state of all the houses still viable
+	 * @return the metrics of the district
+	 */
+	public DistrictMetrics getMetrics() {
+		this.forEachShard(shard -> {
+			ShardSums sums = this.shardSums[shard];
+			sums.clear();
+			for (int i = this.shardStarts[shard]; i < this.shardStarts[shard + 1]; i++) {
+				GameEngine engine = this.houses.get(i);
+				if (!engine.isGameOver()) {
+					House house = engine.getGame().getHouse();
+					sums.viableHouses++;
+					sums.money += house.getFamily().getMoney();
+					sums.energy += house.getEnergy();
+					sums.temperature += house.getTemperature();
+					sums.humidityRate += house.getHumidityRate();
+				}
+			}
+		});
+		long viableHouses = 0, money = 0, energy = 0;
+		double temperature = 0, humidityRate = 0;
+		for (ShardSums sums: this.shardSums) {
+			viableHouses += sums.viableHouses;
+			money += sums.money;
+			energy += sums.energy;
+			temperature += sums.temperature;
+			humidityRate += sums.humidityRate;
+		}
+		float meanTemperature = viableHouses == 0 ? 0 : (float) (temperature / viableHouses);
+		float meanHumidityRate = viableHouses == 0 ? 0 : (float) (humidityRate / viableHouses);
+		return new DistrictMetrics(this.dayNumber, this.houses.size(), (int) viableHouses, money, energy, meanTemperature, meanHumidityRate);
+	}
+
+	/**
+	 * Runs an action on every shard in parallel and waits for all of them
+	 * @param action: action receiving the index of the shard
+	 */
+	private void forEachShard(IntConsumer action) {
+		this.pool.invoke(new ShardsTask(0, this.shardStarts.length - 1, action));
+	}
+
+	/**
+	 * Sums of the houses still viable of a shard, written only by the task of the shard
+	 */
+	private static class ShardSums {
+
+		private long viableHouses, money, energy; // houses still viable, sum of their money, sum of their energy
+		private double temperature, humidityRate; // sum of their temperatures, sum of their humidity rates
+
+		void clear() {
+			this.viableHouses = 0;
+			this.money = 0;
+			this.energy = 0;
+			this.temperature = 0;
+			this.humidityRate = 0;
+		}
+	}
+
+	/**
+	 * Fork-join task running an action on a range of shards
+	 */
+	private static class ShardsTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L; // never serialized, declared for the Serializable task
+
+		private final int from, to; // first shard, shard after the last one
+		private final IntConsumer action; // action receiving the index of the shard
+
+		ShardsTask(int from, int to, IntConsumer action) {
+			this.from = from;
+			this.to = to;
+			this.action = action;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from == 1) {
+				this.action.accept(this.from);
+				return;
+			}
+			int middle = (this.from + this.to) >>> 1;
+			invokeAll(new ShardsTask(this.from, middle, this.action), new ShardsTask(middle, this.to, this.action));
+		}
+	}
+
+	/**
+	 * Getters and setters
+	 */
+	public Weather getWeather() {
+		return this.weather;
+	}
+
+	public int getDayNumber() {
+		return this.dayNumber;
+	}
+
+	public int getHousesCount() {
+		return this.houses.size();
+	}
+
+	public GameEngine getHouse(int index) {
+		return this.houses.get(index);
+	}
+}
@@ -0,0 +1,21 @@
+/**
+ * @file Strategy.java
+ * @date 18/10/2026
+ * Decisions taken by an automated player every day of a simulated game
+ */
+package simulation;
+
+public interface Strategy {
+
+	/**
+	 * Called at the beginning of each day to plan the tasks of the persons
+	 * @param engine: engine driving the game
+	 */
+	void planDay(GameEngine engine);
+
+	/**
+	 * Called once all the tasks of the day are done, before the day ends. Does nothing by default
+	 * @param engine: engine driving the game
+	 */
+	default void buyPerks(GameEngine engine) {}
+}
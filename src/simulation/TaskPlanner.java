@@ -0,0 +1,361 @@
+/**
+ * @file TaskPlanner.java
+ * @date 18/10/2026
+ * Plans the tasks of the whole family for the day. For each person, the tasks are chosen by dynamic programming on the
+ * stamina (a knapsack where the tasks giving stamina can be picked once and the others as many times as the stamina
+ * allows). The tasks switching the devices of the house are then tried in every small combination, each combination
+ * taken from the persons who lose the least by giving stamina to it, and the resulting days are simulated on copies of
+ * the game so that the effect of the heaters, ACs and windows on the comfort and the energy is taken into account
+ */
+package simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import model.Game;
+import model.House;
+import model.Person;
+import model.Task;
+import model.Viability;
+
+public class TaskPlanner implements Strategy {
+
+	private static final int MAX_DEVICE_TASKS = 3; // maximum number of device tasks tried in a combination
+	private static final float NOT_VIABLE_PENALTY = 1e6f; // removed from the score of a day ending in a non-viable house
+
+	/**
+	 * Weights of the objective of the planner: the score of a day is moneyWeight * money earned + energyWeight * energy
+	 * earned - comfortWeight * discomfort, the discomfort being the distance to the optimal temperature and humidity at
+	 * the end of the day as a fraction of the viable margins (1 when at the limit of viability)
+	 */
+	public record PlanObjective(float moneyWeight, float energyWeight, float comfortWeight) {
+
+		public static final PlanObjective BALANCED = new PlanObjective(1, 1, 400);
+	}
+
+	/**
+	 * Plan of the day of the family and its simulated outcome
+	 * @param tasksByPerson: tasks of each person, by ID of the person, in execution order
+	 * @param score: score of the day for the objective
+	 * @param money: money of the family at the end of the day
+	 * @param energy: energy of the house at the end of the day
+	 * @param temperature: temperature of the house at the end of the day
+	 * @param humidityRate: humidity rate of the house at the end of the day
+	 * @param isViable: true if the house is still viable at the end of the day
+	 */
+	public record FamilyPlan(Map<Integer, List<Task>> tasksByPerson, float score, int money, int energy, float temperature, float humidityRate, boolean isViable) {
+
+		/**
+		 * Replaces the tasks planned in a game by this plan
+		 * @param engine: engine driving the game
+		 */
+		public void applyTo(GameEngine engine) {
+			this.tasksByPerson.forEach((personId, tasks) -> {
+				engine.resetTasks(personId);
+				tasks.forEach(task -> engine.planTask(personId, task.ID()));
+			});
+		}
+	}
+
+	private final PlanObjective objective; // weights of the score of a day
+	private final DayOutcomeCache dayOutcomes; // outcomes of the candidate days already simulated
+
+	/**
+	 * Class constructor with the balanced objective
+	 */
+	public TaskPlanner() {
+		this(PlanObjective.BALANCED);
+	}
+
+	/**
+	 * Class constructor
+	 * @param objective: weights of the score of a day
+	 */
+	public TaskPlanner(PlanObjective objective) {
+		this(objective, new DayOutcomeCache(4096));
+	}
+
+	/**
+	 * Class constructor
+	 * @param objective: weights of the score of a day
+	 * @param dayOutcomes: cache of the simulated days, can be shared with other planners
+	 */
+	public TaskPlanner(PlanObjective objective, DayOutcomeCache dayOutcomes) {
+		this.objective = objective;
+		this.dayOutcomes = dayOutcomes;
+	}
+
+	/**
+	 * Computes the best plan of the day for the current state of a game, the game is not changed
+	 * @param game: game to plan
+	 * @return the best plan found
+	 */
+	public FamilyPlan plan(Game game) {
+		List<FamilyPlan> candidates = this.planCandidates(game, 1);
+		return candidates.isEmpty() ? null : candidates.get(0);
+	}
+
+	/**
+	 * Computes the best distinct plans of the day for the current state of a game, the game is not changed.
+	 * Used by the planners looking several days ahead, which choose between the best plans of each day
+	 * @param game: game to plan
+	 * @param count: maximum number of plans
+	 * @return the best plans found, the best first
+	 */
+	public List<FamilyPlan> planCandidates(Game game, int count) {
+		List<Task> deviceTasks = new ArrayList<>();
+		List<Task> otherTasks = new ArrayList<>();
+		for (Task task: game.getAvailableTasks()) {
+			(Game.switchesDevices(task) ? deviceTasks : otherTasks).add(task);
+		}
+
+		List<Person> persons = game.getHouse().getFamily().getPersons();
+		Map<Integer, StaminaTable> tables = new HashMap<>(); // persons with the same max stamina share their table
+		StaminaTable[] tableOfPerson = new StaminaTable[persons.size()];
+		for (int p = 0; p < persons.size(); p++) {
+			tableOfPerson[p] = tables.computeIfAbsent(persons.get(p).getMaxStamina(), maxStamina -> new StaminaTable(maxStamina, otherTasks));
+		}
+
+		List<FamilyPlan> plans = new ArrayList<>();
+		for (List<Task> combination: combinationsOf(deviceTasks, MAX_DEVICE_TASKS)) {
+			FamilyPlan plan = this.simulate(game, persons, tableOfPerson, combination);
+			if (plan != null) {
+				plans.add(plan);
+			}
+		}
+		plans.sort((plan1, plan2) -> Float.compare(plan2.score(), plan1.score())); // stable: the first combination found wins a tie
+		List<FamilyPlan> candidates = new ArrayList<>();
+		for (FamilyPlan plan: plans) {
+			if (candidates.size() == count) {
+				break;
+			}
+			if (candidates.stream().noneMatch(candidate -> candidate.tasksByPerson().equals(plan.tasksByPerson()))) {
+				candidates.add(plan);
+			}
+		}
+		return candidates;
+	}
+
+	@Override
+	public void planDay(GameEngine engine) {
+		FamilyPlan plan = this.plan(engine.getGame());
+		if (plan != null) {
+			plan.applyTo(engine);
+		}
+	}
+
+	/**
+	 * Gives the device tasks of a combination to the persons and simulates the day
+	 * @return the plan and its outcome, null if the persons do not have enough stamina for the combination
+	 */
+	private FamilyPlan simulate(Game game, List<Person> persons, StaminaTable[] tableOfPerson, List<Task> combination) {
+		int[] reserved = new int[persons.size()]; // stamina given to the device tasks by each person
+		List<List<Task>> deviceTasksOfPerson = new ArrayList<>();
+		persons.forEach(person -> deviceTasksOfPerson.add(new ArrayList<>()));
+		for (Task task: combination) {
+			int cost = Math.max(0, -task.stamina());
+			int chosen = -1;
+			float chosenLoss = 0;
+			for (int p = 0; p < persons.size(); p++) {
+				float loss = tableOfPerson[p].value(reserved[p]) - tableOfPerson[p].value(reserved[p] + cost);
+				if (Float.isNaN(loss) || loss == Float.POSITIVE_INFINITY) {
+					continue;
+				}
+				// fewer device tasks first on a tie, so that the devices are switched as early as possible in the day
+				if (chosen == -1 || loss < chosenLoss || loss == chosenLoss && deviceTasksOfPerson.get(p).size() < deviceTasksOfPerson.get(chosen).size()) {
+					chosen = p;
+					chosenLoss = loss;
+				}
+			}
+			if (chosen == -1) {
+				return null;
+			}
+			reserved[chosen] += cost;
+			deviceTasksOfPerson.get(chosen).add(task);
+		}
+
+		Map<Integer, List<Task>> tasksByPerson = new LinkedHashMap<>();
+		for (int p = 0; p < persons.size(); p++) {
+			List<Task> tasks = new ArrayList<>(deviceTasksOfPerson.get(p));
+			tasks.addAll(tableOfPerson[p].tasks(reserved[p]));
+			tasksByPerson.put(persons.get(p).getId(), tasks);
+		}
+
+		Game after = this.dayOutcomes.playTasks(game, tasksByPerson);
+		return this.evaluate(game.getHouse(), after.getHouse(), tasksByPerson);
+	}
+
+	/**
+	 * Scores the day simulated
+	 * @param before: house at the beginning of the day
+	 * @param after: house at the end of the simulated day
+	 */
+	private FamilyPlan evaluate(House before, House after, Map<Integer, List<Task>> tasksByPerson) {
+		int money = after.getFamily().getMoney();
+		int energy = after.getEnergy();
+		float discomfort = Math.abs(after.getTemperature() - after.getOptimalTemperature()) / 10
+				+ Math.abs(after.getHumidityRate() - after.getOptimalHumidityRate()) / .2f;
+		boolean isViable = after.isViable() == Viability.VIABLE;
+		float score = this.objective.moneyWeight() * (money - before.getFamily().getMoney())
+				+ this.objective.energyWeight() * (energy - before.getEnergy())
+				- this.objective.comfortWeight() * discomfort
+				- (isViable ? 0 : NOT_VIABLE_PENALTY);
+		return new FamilyPlan(tasksByPerson, score, money, energy, after.getTemperature(), after.getHumidityRate(), isViable);
+	}
+
+	/**
+	 * @return all the combinations of at most maxSize tasks, the empty one included
+	 */
+	private static List<List<Task>> combinationsOf(List<Task> tasks, int maxSize) {
+		List<List<Task>> combinations = new ArrayList<>();
+		combinations.add(List.of());
+		for (Task task: tasks) {
+			int count = combinations.size();
+			for (int i = 0; i < count; i++) {
+				if (combinations.get(i).size() < maxSize) {
+					List<Task> combination = new ArrayList<>(combinations.get(i));
+					combination.add(task);
+					combinations.add(combination);
+				}
+			}
+		}
+		return combinations;
+	}
+
+	/**
+	 * Value of a task for the objective, without its effect on the devices
+	 */
+	private float valueOf(Task task) {
+		return this.objective.moneyWeight() * task.money() + this.objective.energyWeight() * task.energy();
+	}
+
+	/**
+	 * Best tasks of a person for every amount of stamina given to the device tasks.
+	 * The tasks giving stamina can be picked once (a person does not add them twice) and are solved as a 0/1 knapsack on
+	 * the stamina they give, the tasks needing stamina can be repeated and are solved as an unbounded knapsack on the
+	 * stamina they need. The stamina needed by all the tasks must not be more than the max stamina of the person
+	 */
+	private class StaminaTable {
+
+		private final int maxStamina; // max stamina of the persons using the table
+		private final List<Task> givingTasks; // tasks giving stamina, or not changing it
+		private final List<Task> needingTasks; // tasks needing stamina worth doing
+		private final float[] bestNeeding; // best value of the tasks needing at most c stamina
+		private final int[] lastNeeding; // task added to reach bestNeeding[c], -1 if the best is the one of c - 1
+		private final float[][] bestGiving; // best value of the first k tasks giving exactly e stamina
+		private final int totalGiven; // stamina given by all the tasks giving stamina
+
+		StaminaTable(int maxStamina, List<Task> tasks) {
+			this.maxStamina = maxStamina;
+			this.givingTasks = new ArrayList<>();
+			this.needingTasks = new ArrayList<>();
+			int totalGiven = 0;
+			for (Task task: tasks) {
+				if (task.stamina() >= 0) {
+					this.givingTasks.add(task);
+					totalGiven += task.stamina();
+				} else if (valueOf(task) > 0) {
+					this.needingTasks.add(task);
+				}
+			}
+			this.totalGiven = totalGiven;
+
+			int capacity = maxStamina + totalGiven;
+			this.bestNeeding = new float[capacity + 1];
+			this.lastNeeding = new int[capacity + 1];
+			this.lastNeeding[0] = -1;
+			for (int c = 1; c <= capacity; c++) {
+				this.bestNeeding[c] = this.bestNeeding[c - 1];
+				this.lastNeeding[c] = -1;
+				for (int t = 0; t < this.needingTasks.size(); t++) {
+					Task task = this.needingTasks.get(t);
+					int cost = -task.stamina();
+					if (cost <= c && this.bestNeeding[c - cost] + valueOf(task) > this.bestNeeding[c]) {
+						this.bestNeeding[c] = this.bestNeeding[c - cost] + valueOf(task);
+						this.lastNeeding[c] = t;
+					}
+				}
+			}
+
+			this.bestGiving = new float[this.givingTasks.size() + 1][totalGiven + 1];
+			Arrays.fill(this.bestGiving[0], Float.NEGATIVE_INFINITY);
+			this.bestGiving[0][0] = 0;
+			for (int k = 1; k <= this.givingTasks.size(); k++) {
+				Task task = this.givingTasks.get(k - 1);
+				for (int e = 0; e <= totalGiven; e++) {
+					this.bestGiving[k][e] = this.bestGiving[k - 1][e];
+					if (e >= task.stamina() && this.bestGiving[k - 1][e - task.stamina()] + valueOf(task) > this.bestGiving[k][e]) {
+						this.bestGiving[k][e] = this.bestGiving[k - 1][e - task.stamina()] + valueOf(task);
+					}
+				}
+			}
+		}
+
+		/**
+		 * @return the stamina given by the best choice of tasks giving stamina, -1 if the reserved stamina is too high
+		 */
+		private int bestGiven(int reserved) {
+			if (reserved > this.maxStamina) { // the device tasks are done first, before any stamina is given back
+				return -1;
+			}
+			int bestGiven = -1;
+			float[] lastRow = this.bestGiving[this.givingTasks.size()];
+			for (int e = 0; e <= this.totalGiven; e++) {
+				float value = lastRow[e] + this.bestNeeding[this.maxStamina + e - reserved];
+				if (lastRow[e] != Float.NEGATIVE_INFINITY && (bestGiven == -1 || value > lastRow[bestGiven] + this.bestNeeding[this.maxStamina + bestGiven - reserved])) {
+					bestGiven = e;
+				}
+			}
+			return bestGiven;
+		}
+
+		/**
+		 * @param reserved: stamina given to the device tasks
+		 * @return the best value of the other tasks, negative infinity if the reserved stamina is too high
+		 */
+		float value(int reserved) {
+			int given = this.bestGiven(reserved);
+			if (given == -1) {
+				return Float.NEGATIVE_INFINITY;
+			}
+			return this.bestGiving[this.givingTasks.size()][given] + this.bestNeeding[this.maxStamina + given - reserved];
+		}
+
+		/**
+		 * @param reserved: stamina given to the device tasks
+		 * @return the best tasks other than the device tasks, the tasks giving stamina first
+		 */
+		List<Task> tasks(int reserved) {
+			List<Task> tasks = new ArrayList<>();
+			int given = this.bestGiven(reserved);
+			if (given == -1) {
+				return tasks;
+			}
+			int e = given;
+			List<Task> givingChosen = new ArrayList<>();
+			for (int k = this.givingTasks.size(); k > 0; k--) {
+				if (this.bestGiving[k][e] != this.bestGiving[k - 1][e]) {
+					Task task = this.givingTasks.get(k - 1);
+					givingChosen.add(0, task);
+					e -= task.stamina();
+				}
+			}
+			tasks.addAll(givingChosen);
+			int c = this.maxStamina + given - reserved;
+			while (c > 0) {
+				int t = this.lastNeeding[c];
+				if (t == -1) {
+					c--;
+				} else {
+					Task task = this.needingTasks.get(t);
+					tasks.add(task);
+					c += task.stamina();
+				}
+			}
+			return tasks;
+		}
+	}
+}
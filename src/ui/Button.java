@@ -6,6 +6,7 @@
 package ui;
 
 import java.awt.*;
+import view.FrameScheduler;
 
 public class Button {
 
@@ -13,6 +14,9 @@ public class Button {
 	private String text; // text displayed on the button
 	private final Rectangle bounds; // bounds of the button (position and size)
 	private boolean isMouseOver, isMousePressed; // in order to know if there is an interaction with the user
+	private Font measuredFont; // font the text was measured with, null if the text has to be measured again
+	private int textWidth, textHeight; // size of the text in the measured font
+	private final FrameScheduler frameScheduler; // repaints the button when its look changes
 
 	/**
 	 * Class constructor of buttons without ID
@@ -21,8 +25,9 @@ public class Button {
 	 * @param y: vertical position of the button
 	 * @param width: width of the button
 	 * @param height: height of the button
+	 * @param frameScheduler: repaints the button when its look changes
 	 */
-	public Button(String text, int x, int y, int width, int height) {
+	public Button(String text, int x, int y, int width, int height, FrameScheduler frameScheduler) {
 		this.text = text;
 		this.x = x;
 		this.y = y;
@@ -30,6 +35,7 @@ public class Button {
 		this.height = height;
 		this.id = -1;
 		this.bounds = new Rectangle(x, y, width, height);
+		this.frameScheduler = frameScheduler;
 	}
 
 	/**
@@ -40,8 +46,9 @@ public class Button {
 	 * @param width: width of the button
 	 * @param height: height of the button
 	 * @param id: ID of the button
+	 * @param frameScheduler: repaints the button when its look changes
 	 */
-	public Button(String text, int x, int y, int width, int height, int id) {
+	public Button(String text, int x, int y, int width, int height, int id, FrameScheduler frameScheduler) {
 		this.text = text;
 		this.x = x;
 		this.y = y;
@@ -49,6 +56,7 @@ public class Button {
 		this.height = height;
 		this.id = id;
 		this.bounds = new Rectangle(x, y, width, height);
+		this.frameScheduler = frameScheduler;
 	}
 
 	/**
@@ -56,16 +64,32 @@ public class Button {
 	 * @param g: graphics component of the app
 	 */
 	public void draw(Graphics g) {
-		drawBody(g);
-		drawBorder(g);
+		draw(g, isMouseOver, isMousePressed);
+	}
+
+	/**
+	 * Draws the button as if there was no interaction with the user, used by the layers holding the idle buttons
+	 * @param g: graphics component of the app
+	 */
+	public void drawIdle(Graphics g) {
+		draw(g, false, false);
+	}
+
+	private void draw(Graphics g, boolean isMouseOver, boolean isMousePressed) {
+		if (!g.hitClip(x, y, width + 1, height + 1)) { // outside the region being repainted
+			return;
+		}
+		drawBody(g, isMouseOver);
+		drawBorder(g, isMousePressed);
 		drawText(g);
 	}
 
 	/**
 	 * Draws components the borders of the button
 	 * @param g: graphics component of the app
+	 * @param isMousePressed: true to draw the button pressed
 	 */
-	private void drawBorder(Graphics g) {
+	private void drawBorder(Graphics g, boolean isMousePressed) {
 		g.setColor(Color.BLACK);
 		g.drawRect(x, y, width, height);
 		if (isMousePressed) {
@@ -77,8 +101,9 @@ public class Button {
 	/**
 	 * Draws components the body of the button
 	 * @param g: graphics component of the app
+	 * @param isMouseOver: true to draw the button under the mouse
 	 */
-	private void drawBody(Graphics g) {
+	private void drawBody(Graphics g, boolean isMouseOver) {
 		if (isMouseOver)
 			g.setColor(Color.GRAY);
 		else
@@ -87,19 +112,34 @@ public class Button {
 	}
 
 	/**
-	 * Writes the text of the button
+	 * Writes the text of the button, centred with its size measured once per text and font
 	 * @param g: graphics component of the app
 	 */
 	private void drawText(Graphics g) {
-		int w = g.getFontMetrics().stringWidth(text);
-		int h = g.getFontMetrics().getHeight();
-		g.drawString(text, x - w / 2 + width / 2, y + h / 2 + height / 2);
+		Font font = g.getFont();
+		if (!font.equals(measuredFont)) {
+			FontMetrics metrics = g.getFontMetrics(font);
+			textWidth = metrics.stringWidth(text);
+			textHeight = metrics.getHeight();
+			measuredFont = font;
+		}
+		g.drawString(text, x - textWidth / 2 + width / 2, y + textHeight / 2 + height / 2);
+	}
+
+	/**
+	 * Requests the button to be repainted, its border included
+	 */
+	public void invalidate() {
+		frameScheduler.invalidate(x, y, width + 1, height + 1);
 	}
 
 	/**
 	 * Resets the button boolean
 	 */
 	public void resetBooleans() {
+		if (this.isMouseOver || this.isMousePressed) {
+			invalidate();
+		}
 		this.isMouseOver = false;
 		this.isMousePressed = false;
 	}
@@ -107,14 +147,27 @@ public class Button {
 	/**
 	 * Getters and setters
 	 */
+	/**
+	 * Setters of the interactions, the button is repainted when its look changes
+	 */
 	public void setIsMousePressed(boolean isMousePressed) {
+		if (this.isMousePressed != isMousePressed) {
+			invalidate();
+		}
 		this.isMousePressed = isMousePressed;
 	}
 
 	public void setIsMouseOver(boolean isMouseOver) {
+		if (this.isMouseOver != isMouseOver) {
+			invalidate();
+		}
 		this.isMouseOver = isMouseOver;
 	}
 
+	public boolean isIdle() {
+		return !isMouseOver && !isMousePressed;
+	}
+
 	public Rectangle getBounds() {
 		return bounds;
 	}
@@ -125,6 +178,7 @@ public class Button {
 
 	public void setText(String text) {
 		this.text = text;
+		this.measuredFont = null;
 	}
 
 	public void setWidth(int width) {
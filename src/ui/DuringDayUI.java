@@ -6,7 +6,6 @@
 package ui;
 
 import java.awt.*;
-import static java.lang.Math.max;
 import static java.lang.Math.min;
 import static utils.PlayingStates.PERK;
 import static utils.PlayingStates.setPlayingState;
@@ -19,8 +18,9 @@ public class DuringDayUI extends UIComponent {
 	private final GameGUI gameGUI; // gameGUI containing the game model
 	private Button nextTaskButton; // button used to execute the next task
 	private ArrayList<Person> persons; // persons of the house
-	private int currentTaskIndex; // index of the current task
 	private boolean areAllTasksDone; // tells if all the tasks are completed
+	private final Layer layer; // background, idle button and headers of the UI
+	private final ArrayList<ArrayList<Button>> staminaPips; // pips of the stamina of each person, added when a stamina goes over them
 
 	/**
 	 * Class constructor specifying the size and position of the window, and the gameGUI
@@ -31,19 +31,20 @@ public class DuringDayUI extends UIComponent {
 	 * @param gameGUI: class that contains the game model
 	 */
 	public DuringDayUI(int x, int y, int width, int height, GameGUI gameGUI) {
-		super(x, y, width, height);
+		super(x, y, width, height, gameGUI.getFrameScheduler());
 		this.gameGUI = gameGUI;
 		this.persons = gameGUI.getGame().getHouse().getFamily().getPersons();
-		this.currentTaskIndex = -1;
 		this.areAllTasksDone = false;
+		this.staminaPips = new ArrayList<>();
 		initButtons();
+		this.layer = new Layer(x, y, width, height, this::drawStatic);
 	}
 
 	/**
 	 * Initializes the buttons of the UI
 	 */
 	private void initButtons() {
-		this.nextTaskButton = new Button("Next Task", (x + width / 2) - 60, (y + height) - 50, 120, 30);
+		this.nextTaskButton = new Button("Next Task", (x + width / 2) - 60, (y + height) - 50, 120, 30, this.frameScheduler);
 	}
 
 	/**
@@ -51,12 +52,40 @@ public class DuringDayUI extends UIComponent {
 	 * @param g: graphics component of the app
 	 */
 	public void draw(Graphics g) {
-		g.setColor(new Color(220, 123, 15));
-		g.fillRect(x, y, width, height);
-		nextTaskButton.draw(g);
+		if (!isInClip(g)) {
+			return;
+		}
+		this.layer.draw(g);
+		if (!nextTaskButton.isIdle()) {
+			nextTaskButton.draw(g);
+		}
+		g.setColor(Color.BLACK);
 		drawText(g);
 	}
 
+	/**
+	 * Draws the static part of the UI into its layer: the background, the button without interaction, the day and the
+	 * columns of the persons
+	 * @param g: graphics of the layer
+	 */
+	private void drawStatic(Graphics2D g) {
+		int x = this.x + 20;
+		int yStart = this.y + 50;
+
+		g.setColor(BACKGROUND);
+		g.fillRect(this.x, this.y, this.width, this.height);
+		nextTaskButton.drawIdle(g);
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g.drawString("Day #" + gameGUI.getGame().getDayNumber() + " is going on !", this.y + this.width / 2 - 40, 20);
+		int screenSplitWidth = (this.width - x) / this.persons.size();
+
+		this.persons.forEach(person -> {
+			int personTextX = x + (this.persons.indexOf(person) * screenSplitWidth);
+			g.drawLine(personTextX + screenSplitWidth, yStart - 10, personTextX + screenSplitWidth, this.y + this.height - 100);
+			g.drawString(person.getName() + ":", personTextX + 5, yStart);
+		});
+	}
+
 	/**
 	 * Draws the text indicating the task already done on the screen
 	 * @param g: graphics component of the app
@@ -67,30 +96,49 @@ public class DuringDayUI extends UIComponent {
 
 		Graphics2D graphics2D = (Graphics2D) g;
 		graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-		graphics2D.drawString("Day #" + gameGUI.getGame().getDayNumber() + " is going on !", this.y + this.width / 2 - 40, 20);
 		int screenSplitWidth = (this.width - x) / this.persons.size();
 
-		this.persons.forEach(person -> {
-			int personTextX = x + (this.persons.indexOf(person) * screenSplitWidth);
-			graphics2D.drawLine(personTextX + screenSplitWidth, yStart - 10, personTextX + screenSplitWidth, this.y + this.height - 100);
-			graphics2D.drawString(person.getName() + ":", personTextX + 5, yStart);
+		for (int p = 0; p < this.persons.size(); p++) {
+			Person person = this.persons.get(p);
+			int personTextX = x + (p * screenSplitWidth);
+			ArrayList<Button> pips = this.getStaminaPips(p, personTextX + screenSplitWidth, yStart - 10, person.getStamina());
 			for (int i = 0; i < person.getStamina(); i++) {
-				(new Button("", personTextX + screenSplitWidth - 15 * (i + 2), yStart - 10, 10, 10)).draw(g);
+				pips.get(i).draw(g);
 			}
-			for (int i = 0; i <= min(this.currentTaskIndex, person.getTasks().size() - 1); i++) {
+			for (int i = 0; i <= min(this.gameGUI.getEngine().getCurrentTaskIndex(), person.getTasks().size() - 1); i++) {
 				graphics2D.drawString(person.getTasks().get(i).message(), personTextX + 15, yStart + 20 * (i + 1));
 			}
-		});
+		}
+	}
+
+	/**
+	 * Gives the pips of the stamina of a person, right aligned in its column, and adds the ones missing
+	 * @param personIndex: index of the person in the house
+	 * @param right: horizontal position of the right of the column of the person
+	 * @param y: vertical position of the pips
+	 * @param stamina: stamina of the person
+	 * @return at least as many pips as the stamina
+	 */
+	private ArrayList<Button> getStaminaPips(int personIndex, int right, int y, int stamina) {
+		while (this.staminaPips.size() <= personIndex) {
+			this.staminaPips.add(new ArrayList<>());
+		}
+		ArrayList<Button> pips = this.staminaPips.get(personIndex);
+		for (int i = pips.size(); i < stamina; i++) {
+			pips.add(new Button("", right - 15 * (i + 2), y, 10, 10, this.frameScheduler));
+		}
+		return pips;
 	}
 
 	
 	public void onNewDay() {
 		this.persons = gameGUI.getGame().getHouse().getFamily().getPersons();
-		this.currentTaskIndex = -1;
+		this.staminaPips.clear(); // the columns change with the persons
 		this.areAllTasksDone = false;
 		this.nextTaskButton.setText("Next task");
 		this.nextTaskButton.setWidth(120);
 		this.nextTaskButton.setX(this.y + this.width / 2 - 60);
+		this.layer.invalidate();
 	}
 
 	/**
@@ -103,17 +151,12 @@ public class DuringDayUI extends UIComponent {
 			if (this.areAllTasksDone) {
 				setPlayingState(PERK);
 			} else {
-				int tasksNumber = 0;
-				for (Person person : this.persons) {
-					tasksNumber = max(person.getTasks().size(), tasksNumber);
-				}
-				this.currentTaskIndex++;
-				this.gameGUI.getGame().doNthTaskOfAllPersons(this.currentTaskIndex);
-				this.areAllTasksDone = tasksNumber == this.currentTaskIndex + 1;
+				this.areAllTasksDone = !this.gameGUI.getEngine().stepTask();
 				if (this.areAllTasksDone) {
 					this.nextTaskButton.setText("End current day");
 					this.nextTaskButton.setWidth(150);
 					this.nextTaskButton.setX(this.y + this.width / 2 - 75);
+					this.layer.invalidate();
 				}
 			}
 		}
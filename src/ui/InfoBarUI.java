@@ -9,17 +9,32 @@ import static utils.GameStates.MENU;
 import static utils.GameStates.setGameState;
 
 import java.awt.*;
+import java.nio.file.Path;
 import java.util.ArrayList;
 
 import model.Game;
+import model.House;
 import model.Person;
-import utils.LoadSave;
+import model.Weather;
+import view.FrameScheduler;
+import utils.SaveWorker;
 import utils.PlayingStates;
 
 public class InfoBarUI extends UIComponent {
 
+	private static final int SAVE_STATUS_WIDTH = 200, SAVE_STATUS_HEIGHT = 30; // region of the status of the save, at the top right of the bar
+	private static final int TEXT_X = 110; // horizontal offset of the information, right of the buttons
+
 	private final Game game;
 	private ArrayList<Button> buttons; // buttons of the UI
+	private final SaveWorker saveWorker; // writes the saves in the background
+	private SaveWorker.Status saveStatus; // status of the last save, displayed until the next one
+	private int saveStatusVersion; // incremented at each change of the status of the save
+	private final Layer layer; // background and idle buttons of the bar
+	private PlayingStates layerPlayingState; // playing state the layer was drawn for, the save button depends on it
+	private final ShapedText dayLabel, moneyLabel, energyLabel, weatherLabel, houseLabel, saveStatusLabel; // texts of the bar, shaped again when their values change
+	private final ArrayList<ShapedText> personLabels; // text of each person, by index in the family
+	private final long[] weatherKey, houseKey; // keys of the displayed weather and house, filled again at each frame
 
 	/**
 	 * Class constructor specifying the size and position of the window, and the gameGUI
@@ -28,11 +43,28 @@ public class InfoBarUI extends UIComponent {
 	 * @param width: width of the UI
 	 * @param height: height of the UI
 	 * @param game: game model
+	 * @param frameScheduler: repaints the regions invalidated by the bar
 	 */
-	public InfoBarUI(int x, int y, int width, int height, Game game) {
-		super(x, y, width, height);
+	public InfoBarUI(int x, int y, int width, int height, Game game, FrameScheduler frameScheduler) {
+		super(x, y, width, height, frameScheduler);
 		initButtons();
 		this.game = game;
+		this.saveWorker = new SaveWorker(Path.of("game.sav"), status -> {
+			this.saveStatus = status;
+			this.saveStatusVersion++;
+			this.invalidate(this.x + this.width - SAVE_STATUS_WIDTH, this.y, SAVE_STATUS_WIDTH, SAVE_STATUS_HEIGHT);
+		});
+		this.saveStatus = this.saveWorker.getStatus();
+		this.layer = new Layer(x, y, width, height, this::drawStatic);
+		this.dayLabel = new ShapedText(x + 115, y + 20, () -> "Day #" + this.game.getDayNumber());
+		this.moneyLabel = new ShapedText(x + 115, y + 45, () -> "Money : " + this.game.getHouse().getFamily().getMoney());
+		this.energyLabel = new ShapedText(x + 115, y + 70, () -> "Energy : " + this.game.getHouse().getEnergy());
+		this.weatherLabel = new ShapedText(x + 10, y + 95, () -> this.game.getWeather().toString());
+		this.houseLabel = new ShapedText(x + 10, y + 112, () -> this.game.getHouse().toString());
+		this.saveStatusLabel = new ShapedText(x + width - SAVE_STATUS_WIDTH, y + 20, () -> this.saveStatus.message());
+		this.personLabels = new ArrayList<>();
+		this.weatherKey = new long[Weather.LABEL_KEY_LENGTH];
+		this.houseKey = new long[House.LABEL_KEY_LENGTH];
 	}
 
 	/**
@@ -40,8 +72,8 @@ public class InfoBarUI extends UIComponent {
 	 */
 	private void initButtons() {
 		this.buttons = new ArrayList<>();
-		this.buttons.add(new Button("Menu", x + 5, y + 5, 100, 30, 0));
-		this.buttons.add(new Button("Save", x + 5, y + 45, 100, 30, 1));
+		this.buttons.add(new Button("Menu", x + 5, y + 5, 100, 30, 0, this.frameScheduler));
+		this.buttons.add(new Button("Save", x + 5, y + 45, 100, 30, 1, this.frameScheduler));
 	}
 
 	/**
@@ -49,83 +81,106 @@ public class InfoBarUI extends UIComponent {
 	 * @param g: graphics component of the app
 	 */
 	public void draw(Graphics g) {
-		g.setColor(new Color(220, 123, 15));
+		if (!isInClip(g)) {
+			return;
+		}
+		if (this.layerPlayingState != PlayingStates.playingState) {
+			this.layerPlayingState = PlayingStates.playingState;
+			this.layer.invalidate();
+		}
+		this.layer.draw(g);
+		for (int i = 0; i < this.buttons.size(); i++) {
+			Button button = this.buttons.get(i);
+			if (!button.isIdle() && isShown(button))
+				button.draw(g);
+		}
+		g.setColor(Color.BLACK);
+		drawText(g);
+	}
+
+	/**
+	 * Draws the static part of the bar into its layer: the background and the buttons without interaction
+	 * @param g: graphics of the layer
+	 */
+	private void drawStatic(Graphics2D g) {
+		g.setColor(BACKGROUND);
 		g.fillRect(this.x, this.y, this.width, this.height);
 		g.drawLine(this.x, this.y - 1, this.width, this.height);
 		this.buttons.forEach(button -> {
-			if (button.getId() == 1) {
-				switch(PlayingStates.playingState) {
-					case TASK : button.draw(g);
-				}
-			}
-			else 
-				button.draw(g);
+			if (isShown(button))
+				button.drawIdle(g);
 		});
-		drawText(g);
+		g.setColor(Color.BLACK);
+		g.drawLine(x, y, x + width, y);
 	}
 
 	/**
-	 * Draws all the information about the house and the weather on the scene
+	 * Tells if a button is displayed, the save button is only displayed while the tasks are picked
+	 * @param button: button of the bar
+	 * @return true if the button is displayed
+	 */
+	private boolean isShown(Button button) {
+		return button.getId() != 1 || PlayingStates.playingState == PlayingStates.TASK;
+	}
+
+	/**
+	 * Draws all the information about the house and the weather on the scene, each text is only built and shaped again
+	 * when the values it displays change
 	 * @param g: graphics component of the app
 	 */
 	private void drawText(Graphics g) {
 
 		Graphics2D graphics2D = (Graphics2D) g;
 		graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		House house = this.game.getHouse();
+
+		// The texts outside the region being repainted are not drawn
+		if (g.hitClip(this.x + TEXT_X, this.y, this.width - TEXT_X - SAVE_STATUS_WIDTH, 75)) {
+			this.dayLabel.draw(graphics2D, this.game.getDayNumber());
+			this.moneyLabel.draw(graphics2D, house.getFamily().getMoney());
+			this.energyLabel.draw(graphics2D, house.getEnergy());
+
+			ArrayList<Person> persons = house.getFamily().getPersons();
+			for (int i = 0; i < persons.size(); i++) {
+				Person person = persons.get(i);
+				this.getPersonLabel(i, person.getId()).draw(graphics2D, (long) person.getId() << 32 | person.getStamina() & 0xffffffffL);
+			}
+		}
 
-		graphics2D.drawLine(x, y, x + width, y);
-
-		graphics2D.drawString("Day #" + this.game.getDayNumber(), this.x + 115, this.y + 20);
-		graphics2D.drawString("Money : " + this.game.getHouse().getFamily().getMoney(), this.x + 115, this.y + 45);
-		graphics2D.drawString("Energy : " + this.game.getHouse().getEnergy(), this.x + 115, this.y + 70);
-
-		for (Person person: this.game.getHouse().getFamily().getPersons()) {
-			graphics2D.drawString(person.toString(), this.x + 220, this.y + 20 + 25 * person.getId());
+		if (g.hitClip(this.x, this.y + 80, this.width, this.height - 80)) {
+			this.game.getWeather().labelKey(this.weatherKey);
+			this.weatherLabel.draw(graphics2D, this.weatherKey);
+			house.labelKey(this.houseKey);
+			this.houseLabel.draw(graphics2D, this.houseKey);
 		}
 
-		graphics2D.drawString(this.game.getWeather().toString(), this.x + 10, this.y + 95);
-		graphics2D.drawString(this.game.getHouse().toString(), this.x + 10, this.y + 112);
+		if (g.hitClip(this.x + this.width - SAVE_STATUS_WIDTH, this.y, SAVE_STATUS_WIDTH, SAVE_STATUS_HEIGHT)) {
+			if (this.saveStatus.state() == SaveWorker.State.FAILED) {
+				graphics2D.setColor(Color.RED);
+			}
+			this.saveStatusLabel.draw(graphics2D, this.saveStatusVersion);
+			graphics2D.setColor(Color.BLACK);
+		}
 	}
 	
 	/**
-	 * Save the current game
+	 * Gives the label of a person, created the first time the person is displayed. The persons are displayed in order
+	 * @param index: index of the person in the family
+	 * @param id: ID of the person, gives the line of the label
+	 * @return the label of the person
 	 */
-	private void saveGame() {
-		float temp;
-		int i = 0;
-		int j = 0;
-		int idArr[] = new int[8+this.game.getBoughtPerks().size()+1];
-		idArr[i++] = this.game.getDayNumber();
-		idArr[i++] = this.game.getHouse().getFamily().getMoney();
-		idArr[i++] = this.game.getHouse().getEnergy();
-		temp = this.game.getWeather().getTemperature()*100;
-		idArr[i++] = (int) temp;
-		temp = this.game.getWeather().getHumidityRate()*100;
-		idArr[i++] = (int) temp;
-		if (this.game.getWeather().isRainy())
-			idArr[i++] = 0;
-		else if (this.game.getWeather().isSnowy())
-			idArr[i++] = 1;
-		else if (this.game.getWeather().isSunny())
-			idArr[i++] = 2;
-		else if (this.game.getWeather().isLightning())
-			idArr[i++] = 3;
-		else
-			idArr[i++] = 2;
-		temp = this.game.getHouse().getTemperature()*100;
-		idArr[i++] = (int) temp;
-		temp = this.game.getHouse().getHumidityRate()*100;
-		idArr[i++] = (int) temp;
-		idArr[i++] = this.game.getBoughtPerks().size();
-		//System.out.println("Get bought perk quantity : "+ this.game.getBoughtPerks().size());
-
-		while (j < this.game.getBoughtPerks().size()) {
-			idArr[i++] = this.game.getBoughtPerks().get(j).ID();
-			//System.out.println("Bought Perk ID : " +this.game.getBoughtPerks().get(j).ID());
-			j++;
+	private ShapedText getPersonLabel(int index, int id) {
+		if (this.personLabels.size() == index) {
+			this.personLabels.add(new ShapedText(this.x + 220, this.y + 20 + 25 * id, () -> this.game.getHouse().getFamily().getPersons().get(index).toString()));
 		}
-		
-		LoadSave.SaveLevel("game", idArr);
+		return this.personLabels.get(index);
+	}
+
+	/**
+	 * Save the current game in the background, only a copy of the game is taken here
+	 */
+	private void saveGame() {
+		this.saveWorker.save(this.game);
 	}
 
 	/**
@@ -0,0 +1,102 @@
+/**
+ * @file Layer.java
+ * @date 18/10/2026
+ * Retained image of the static part of a component: its background, the buttons in their idle look and the labels that
+ * only change with the scene. The layer is drawn once into an accelerated surface, then each frame blits the surface
+ * instead of drawing the parts again. It is drawn again only when it is invalidated, or when the surface is lost.
+ * The painter has to cover the whole layer, the surface is opaque
+ */
+package ui;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.VolatileImage;
+import java.util.function.Consumer;
+
+public class Layer {
+
+	private static final int MAX_ATTEMPTS = 3; // surfaces lost in a row before drawing the layer directly
+	private static long rasterizationsCount; // times a layer was drawn into its surface
+
+	private final int x, y, width, height; // horizontal position, vertical position, width of the layer, height of the layer
+	private final Consumer<Graphics2D> painter; // draws the static part in the coordinates of the screen
+	private VolatileImage surface; // image of the layer, null until the first draw
+	private boolean isValid; // true if the surface holds the current static part
+
+	/**
+	 * Class constructor
+	 * @param x: horizontal position of the layer
+	 * @param y: vertical position of the layer
+	 * @param width: width of the layer
+	 * @param height: height of the layer
+	 * @param painter: draws the static part in the coordinates of the screen
+	 */
+	public Layer(int x, int y, int width, int height, Consumer<Graphics2D> painter) {
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		this.height = height;
+		this.painter = painter;
+	}
+
+	/**
+	 * Draws the static part again at the next frame, called when it changed
+	 */
+	public void invalidate() {
+		this.isValid = false;
+	}
+
+	/**
+	 * Blits the layer, after drawing it into its surface if it is invalid, lost or made for another device
+	 * @param g: graphics component of the app
+	 */
+	public void draw(Graphics g) {
+		Graphics2D graphics2D = (Graphics2D) g;
+		GraphicsConfiguration configuration = graphics2D.getDeviceConfiguration();
+		for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+			int validation = this.surface == null ? VolatileImage.IMAGE_INCOMPATIBLE : this.surface.validate(configuration);
+			if (validation == VolatileImage.IMAGE_INCOMPATIBLE) {
+				if (this.surface != null) {
+					this.surface.flush();
+				}
+				this.surface = configuration.createCompatibleVolatileImage(this.width, this.height, Transparency.OPAQUE);
+				this.isValid = false;
+			} else if (validation == VolatileImage.IMAGE_RESTORED) {
+				this.isValid = false;
+			}
+			if (!this.isValid) {
+				this.rasterize(graphics2D);
+			}
+			g.drawImage(this.surface, this.x, this.y, null);
+			if (!this.surface.contentsLost()) {
+				return;
+			}
+			this.isValid = false;
+		}
+		this.painter.accept(graphics2D); // the device keeps losing the surface
+	}
+
+	/**
+	 * Draws the static part into the surface, with the font and the rendering hints of the screen
+	 * @param screen: graphics component of the app
+	 */
+	private void rasterize(Graphics2D screen) {
+		Graphics2D graphics2D = this.surface.createGraphics();
+		graphics2D.setFont(screen.getFont());
+		graphics2D.setRenderingHints(screen.getRenderingHints());
+		graphics2D.translate(-this.x, -this.y);
+		this.painter.accept(graphics2D);
+		graphics2D.dispose();
+		this.isValid = true;
+		rasterizationsCount++;
+	}
+
+	/**
+	 * Getters and setters
+	 */
+	public static long getRasterizationsCount() {
+		return rasterizationsCount;
+	}
+}
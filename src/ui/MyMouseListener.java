@@ -12,7 +12,7 @@ import java.awt.event.MouseMotionListener;
 import view.GUIManager;
 import utils.GameStates;
 
-public class MyMouseListener implements MouseListener {
+public class MyMouseListener implements MouseListener, MouseMotionListener {
 
 	private final GUIManager GUIManager;
 
@@ -32,6 +32,7 @@ public class MyMouseListener implements MouseListener {
 				case PLAYING -> GUIManager.getGameGUI().mouseClicked(e.getX(), e.getY());
 				case GAMEOVER -> GUIManager.getGameOver().mouseClicked(e.getX(), e.getY());
 			}
+			GUIManager.getFrameScheduler().requestFrame(); // a click can change the model or the scene
 		}
 	}
 
@@ -53,6 +54,27 @@ public class MyMouseListener implements MouseListener {
 		}
 	}
 
+	/**
+	 * Hovers the buttons, which request a frame only when their state changes
+	 */
+	@Override
+	public void mouseMoved(MouseEvent e) {
+		switch (GameStates.gameState) {
+			case MENU -> GUIManager.getMenu().mouseMoved(e.getX(), e.getY());
+			case PLAYING -> GUIManager.getGameGUI().mouseMoved(e.getX(), e.getY());
+			case GAMEOVER -> GUIManager.getGameOver().mouseMoved(e.getX(), e.getY());
+		}
+	}
+
+	@Override
+	public void mouseDragged(MouseEvent e) {
+		switch (GameStates.gameState) {
+			case MENU -> GUIManager.getMenu().mouseDragged(e.getX(), e.getY());
+			case PLAYING -> GUIManager.getGameGUI().mouseDragged(e.getX(), e.getY());
+			case GAMEOVER -> GUIManager.getGameOver().mouseDragged(e.getX(), e.getY());
+		}
+	}
+
 	@Override
 	public void mouseEntered(MouseEvent e) {
 	}
@@ -10,6 +10,7 @@ import static utils.PlayingStates.setPlayingState;
 import java.awt.*;
 import java.util.ArrayList;
 import model.Perk;
+import model.Registry;
 import view.GameGUI;
 
 public class PerksUI extends UIComponent {
@@ -17,6 +18,7 @@ public class PerksUI extends UIComponent {
 	private final GameGUI gameGUI; // gameGUI containing the game model
 	private Button nextDayButton; // button used to go to the next day
 	private ArrayList<Button> availablePerksButtons;
+	private final Layer layer; // background, idle button and headers of the UI
 
 	/**
 	 * Class constructor specifying the size and position of the window, and the gameGUI
@@ -27,16 +29,17 @@ public class PerksUI extends UIComponent {
 	 * @param gameGUI: class that contains the game model
 	 */
 	public PerksUI(int x, int y, int width, int height, GameGUI gameGUI) {
-		super(x, y, width, height);
+		super(x, y, width, height, gameGUI.getFrameScheduler());
 		this.gameGUI = gameGUI;
 		initButtons();
+		this.layer = new Layer(x, y, width, height, this::drawStatic);
 	}
 
 	/**
 	 * Initializes the buttons of the UI
 	 */
 	private void initButtons() {
-		this.nextDayButton = new Button("Next Day", (x + width / 2) - 60, (y + height) - 50, 120, 30);
+		this.nextDayButton = new Button("Next Day", (x + width / 2) - 60, (y + height) - 50, 120, 30, this.frameScheduler);
 		initPerksButton();
 	}
 
@@ -45,10 +48,9 @@ public class PerksUI extends UIComponent {
 		int yStart = this.y + 70;
 
 		availablePerksButtons = new ArrayList<>();
-		ArrayList<Perk> availablePerks = this.gameGUI.getGame().getAvailablePerks();
-		availablePerks.forEach(perk -> {
-			availablePerksButtons.add(new Button("BUY", x, yStart + 50 * availablePerks.indexOf(perk), 100, 30, perk.ID()));
-		});
+		for (Perk perk: this.gameGUI.getGame().getAvailablePerks()) {
+			availablePerksButtons.add(new Button("BUY", x, yStart + 50 * availablePerksButtons.size(), 100, 30, perk.ID(), this.frameScheduler));
+		}
 	}
 
 	/**
@@ -56,9 +58,29 @@ public class PerksUI extends UIComponent {
 	 * @param g: graphics component of the app
 	 */
 	public void draw(Graphics g) {
-		g.setColor(new Color(220, 123, 15));
+		if (!isInClip(g)) {
+			return;
+		}
+		this.layer.draw(g);
+		if (!this.nextDayButton.isIdle()) {
+			this.nextDayButton.draw(g);
+		}
+		for (int i = 0; i < this.availablePerksButtons.size(); i++) {
+			if (!this.availablePerksButtons.get(i).isIdle()) {
+				this.availablePerksButtons.get(i).draw(g);
+			}
+		}
+	}
+
+	/**
+	 * Draws the static part of the UI into its layer: the background, the buttons without interaction, the headers and
+	 * the perks
+	 * @param g: graphics of the layer
+	 */
+	private void drawStatic(Graphics2D g) {
+		g.setColor(BACKGROUND);
 		g.fillRect(x, y, width, height);
-		this.nextDayButton.draw(g);
+		this.nextDayButton.drawIdle(g);
 		drawText(g);
 		drawPerks(g);
 	}
@@ -74,30 +96,31 @@ public class PerksUI extends UIComponent {
 	}
 
 	/**
-	 * Draws the text of all the perks and the buttons
+	 * Draws the text of all the perks and the buttons without interaction
 	 * @param g: graphics component of the app
 	 */
 	public void drawPerks(Graphics g) {
 		int x = this.x + 20;
 		int yStart = this.y + 70;
 
-		ArrayList<Perk> availablePerks = this.gameGUI.getGame().getAvailablePerks();
-		ArrayList<Perk> boughtPerks = this.gameGUI.getGame().getBoughtPerks();
-		initPerksButton();
+		Registry<Perk> availablePerks = this.gameGUI.getGame().getAvailablePerks();
+		Registry<Perk> boughtPerks = this.gameGUI.getGame().getBoughtPerks();
 
 		Graphics2D graphics2D = (Graphics2D) g;
 		graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 		graphics2D.drawString("Purchasable perks :", x, 50);
 
-		availablePerksButtons.forEach(perkButton -> {
-			perkButton.draw(g);
-			graphics2D.drawString(this.gameGUI.getGame().getPerkById(perkButton.getId()).toString(), x + 120, yStart + 20 + 50 * availablePerksButtons.indexOf(perkButton)); // yStart +20 to line up the text with the button
-		});
+		for (int i = 0; i < availablePerksButtons.size(); i++) {
+			Button perkButton = availablePerksButtons.get(i);
+			perkButton.drawIdle(g);
+			graphics2D.drawString(this.gameGUI.getGame().getPerkById(perkButton.getId()).toString(), x + 120, yStart + 20 + 50 * i); // yStart +20 to line up the text with the button
+		}
 
 		graphics2D.drawString("Current perks :", x, yStart + 20 + 50 * availablePerks.size());
-		boughtPerks.forEach(perk -> {
-			graphics2D.drawString(perk.toString(), x + 120, yStart + 20 + 50 * availablePerks.size() + 50 * boughtPerks.indexOf(perk)); // yStart +20 to line up the text with the button
-		});
+		int boughtPerkIndex = 0;
+		for (Perk perk: boughtPerks) {
+			graphics2D.drawString(perk.toString(), x + 120, yStart + 20 + 50 * availablePerks.size() + 50 * boughtPerkIndex++); // yStart +20 to line up the text with the button
+		}
 	}
 
 	/**
@@ -105,6 +128,7 @@ public class PerksUI extends UIComponent {
 	 */
 	public void onNewDay() {
 		initPerksButton();
+		this.layer.invalidate();
 	}
 
 	/**
@@ -118,11 +142,14 @@ public class PerksUI extends UIComponent {
 			setPlayingState(TASK);
 		}
 
-		this.availablePerksButtons.forEach(button -> {
+		for (Button button: this.availablePerksButtons) {
 			if (button.getBounds().contains(x, y)) {
-				this.gameGUI.getGame().buyPerkFromId(button.getId());
+				this.gameGUI.getEngine().buyPerk(button.getId());
+				initPerksButton(); // the perk bought moves to the current perks
+				this.layer.invalidate();
+				break;
 			}
-		});
+		}
 	}
 
 	public void mouseMoved(int x, int y) {
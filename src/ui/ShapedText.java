@@ -0,0 +1,84 @@
+/**
+ * @file ShapedText.java
+ * @date 18/10/2026
+ * Label displayed from the model, kept shaped as a GlyphVector. The caller gives at each frame the key of the values
+ * displayed, the text is built and shaped again only when the key, the font or the rendering context changes, so an
+ * unchanged label costs a single draw call. The key is a long, or an array of longs when the values displayed do not fit
+ * in one: equal keys must give equal texts, so the values are packed as they are and never hashed
+ */
+package ui;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+public class ShapedText {
+
+	private static long shapesCount; // times a text was built and shaped
+
+	private final int x, y; // horizontal position, vertical position of the baseline
+	private final Supplier<String> text; // builds the text from the model
+	private long key; // key of the values the glyphs were shaped for
+	private long[] keys; // key of the values the glyphs were shaped for when it takes several longs, null until then
+	private Font font; // font the glyphs were shaped in, null until the first draw
+	private FontRenderContext renderContext; // rendering context the glyphs were shaped for
+	private GlyphVector glyphs; // shaped text
+
+	/**
+	 * Class constructor
+	 * @param x: horizontal position of the label
+	 * @param y: vertical position of the baseline of the label
+	 * @param text: builds the text from the model, only called when the key changes
+	 */
+	public ShapedText(int x, int y, Supplier<String> text) {
+		this.x = x;
+		this.y = y;
+		this.text = text;
+	}
+
+	/**
+	 * Draws the label, after building and shaping its text if the values displayed changed
+	 * @param g: graphics component of the app
+	 * @param key: key of the values displayed, equal keys give equal texts
+	 */
+	public void draw(Graphics2D g, long key) {
+		boolean isKeyChanged = key != this.key;
+		this.key = key;
+		this.draw(g, isKeyChanged);
+	}
+
+	/**
+	 * Draws the label, after building and shaping its text if the values displayed changed
+	 * @param g: graphics component of the app
+	 * @param keys: key of the values displayed, equal keys give equal texts. Copied when it changes, the caller can reuse it
+	 */
+	public void draw(Graphics2D g, long[] keys) {
+		boolean isKeyChanged = !Arrays.equals(keys, this.keys);
+		if (isKeyChanged) {
+			this.keys = keys.clone();
+		}
+		this.draw(g, isKeyChanged);
+	}
+
+	private void draw(Graphics2D g, boolean isKeyChanged) {
+		Font font = g.getFont();
+		FontRenderContext renderContext = g.getFontRenderContext();
+		if (this.glyphs == null || isKeyChanged || !font.equals(this.font) || !renderContext.equals(this.renderContext)) {
+			this.glyphs = font.createGlyphVector(renderContext, this.text.get());
+			this.font = font;
+			this.renderContext = renderContext;
+			shapesCount++;
+		}
+		g.drawGlyphVector(this.glyphs, this.x, this.y);
+	}
+
+	/**
+	 * Getters and setters
+	 */
+	public static long getShapesCount() {
+		return shapesCount;
+	}
+}
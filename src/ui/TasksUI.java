@@ -12,6 +12,7 @@ import java.awt.*;
 import java.util.ArrayList;
 import model.Person;
 import model.Task;
+import simulation.TaskPlanner;
 import view.GameGUI;
 
 public class TasksUI extends UIComponent {
@@ -21,7 +22,13 @@ public class TasksUI extends UIComponent {
 	private ArrayList<Button> taskButtons; // button used to add a task to a person
 	private ArrayList<Button> utilityButtons; // buttons managing the game like reset tasks or start the day
 	private ArrayList<Button> personsButtons; // checkboxes used by the user to pick a person in order to add tasks to him
+	private ArrayList<Button> selectionMarkers; // underline of each person checkbox, drawn under the selected person
+	private final ArrayList<Button> taskListButtons; // remaining stamina and tasks of the selected person, laid out when they change
+	private final ArrayList<Task> taskListTasks; // tasks the list is laid out for
+	private int taskListPersonId; // person the list is laid out for, -1 if the list has to be laid out again
 	private int taskListY; // vertical position of the tasks list of the current person selected
+	private final TaskPlanner taskPlanner; // plans the tasks of the whole family when the user asks for it
+	private final Layer layer; // background, idle buttons and labels of the UI
 
 	/**
 	 * Class constructor specifying the size and position of the window, and the gameGUI
@@ -32,9 +39,13 @@ public class TasksUI extends UIComponent {
 	 * @param gameGUI: class that contains the game model
 	 */
 	public TasksUI(int x, int y, int width, int height, GameGUI gameGUI) {
-		super(x, y, width, height);
+		super(x, y, width, height, gameGUI.getFrameScheduler());
 		this.gameGUI = gameGUI;
+		this.taskPlanner = new TaskPlanner();
+		this.taskListButtons = new ArrayList<>();
+		this.taskListTasks = new ArrayList<>();
 		initControls();
+		this.layer = new Layer(x, y, width, height, this::drawStatic);
 	}
 
 	/**
@@ -51,67 +62,55 @@ public class TasksUI extends UIComponent {
 		this.taskButtons = new ArrayList<>();
 
 		int i = 0;
-		int currenTaskId = 0;
 		int line = 0;
 		for (Task task : this.gameGUI.getGame().getAvailableTasks()) {
 			if (xOffsetButtonsOrigin * i > (this.y + this.width) - buttonWidth) {
 				i = 0;
 				line++;
 			}
-			taskButtons.add(new Button(task.name() + " (" + (task.stamina() > 0 ? "+" : "") + task.stamina() + " Stamina, " + (task.money() > 0 ? "+" : "") + task.money() + " Money)", xStart + xOffsetButtonsOrigin * i, yStart + yOffsetButtonsOrigin * line, buttonWidth, buttonHeight, currenTaskId));
+			taskButtons.add(new Button(task.name() + " (" + (task.stamina() > 0 ? "+" : "") + task.stamina() + " Stamina, " + (task.money() > 0 ? "+" : "") + task.money() + " Money)", xStart + xOffsetButtonsOrigin * i, yStart + yOffsetButtonsOrigin * line, buttonWidth, buttonHeight, task.ID(), this.frameScheduler));
 			i++;
-			currenTaskId++;
 		}
 		int tasksLinesNumber = line;
 
 		this.utilityButtons = new ArrayList<>();
-		this.utilityButtons.add(new Button("Reset",(this.x + this.width) - 120, yStart + yOffsetButtonsOrigin * (tasksLinesNumber + 1), 100, 30, 0));
-		this.utilityButtons.add(new Button("Start Day", (this.x + this.width) - 120, (this.y + this.height) - 50, 100, 30, 1));
+		this.utilityButtons.add(new Button("Reset",(this.x + this.width) - 120, yStart + yOffsetButtonsOrigin * (tasksLinesNumber + 1), 100, 30, 0, this.frameScheduler));
+		this.utilityButtons.add(new Button("Auto plan",(this.x + this.width) - 240, yStart + yOffsetButtonsOrigin * (tasksLinesNumber + 1), 100, 30, 2, this.frameScheduler));
+		this.utilityButtons.add(new Button("Start Day", (this.x + this.width) - 120, (this.y + this.height) - 50, 100, 30, 1, this.frameScheduler));
 
 		this.personsButtons = new ArrayList<>();
+		this.selectionMarkers = new ArrayList<>();
 
 		ArrayList<Person> persons = this.gameGUI.getGame().getHouse().getFamily().getPersons();
 
 		persons.forEach(person -> {
-			Button personButton = new Button(person.getName(), x + xStart + 100 * person.getId(), yStart + yOffsetButtonsOrigin * (tasksLinesNumber + 1), 80, 25, person.getId());
+			Button personButton = new Button(person.getName(), x + xStart + 100 * person.getId(), yStart + yOffsetButtonsOrigin * (tasksLinesNumber + 1), 80, 25, person.getId(), this.frameScheduler);
 			this.personsButtons.add(personButton);
+			Rectangle bounds = personButton.getBounds();
+			this.selectionMarkers.add(new Button("", bounds.x, bounds.y + 26, bounds.width, 4, this.frameScheduler));
 		});
 		this.selectedPersonId = persons.get(0).getId();
 
 		this.taskListY = this.y + yStart + yOffsetButtonsOrigin * (tasksLinesNumber + 2) + 10;
+		this.taskListPersonId = -1;
 	}
 
 	/**
-	 * Draws components the UI on the current scene
-	 * @param g: graphics component of the app
+	 * Lays out the remaining stamina and the tasks of a person, with the stamina each task gives or takes
+	 * @param person: selected person
 	 */
-	public void draw(Graphics g) {
-		// Background
-		g.setColor(new Color(220, 123, 15));
-		g.fillRect(x, y, width, height);
-
-		// Buttons
-		this.utilityButtons.forEach(button -> button.draw(g));
-		this.taskButtons.forEach(button -> button.draw(g));
-		this.personsButtons.forEach(button -> button.draw(g));
-
-		Rectangle activePersonBounds = this.personsButtons.get(selectedPersonId).getBounds();
-		(new Button("", activePersonBounds.x, activePersonBounds.y + 26, activePersonBounds.width, 4)).draw(g);
-
-		Graphics2D graphics2D = (Graphics2D) g;
-		graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-		Person selectedPerson = this.gameGUI.getGame().getHouse().getFamily().getPersonsFromId(this.selectedPersonId);
-		int remainingStamina = selectedPerson.getMaxStamina() - selectedPerson.getResultingStaminaForCurrentTasks() * -1;
-		graphics2D.drawString("Remaining stamina:", this.x + 10, this.taskListY);
+	private void layoutTaskList(Person person) {
+		this.taskListButtons.clear();
+		this.taskListTasks.clear();
+		int remainingStamina = person.getMaxStamina() - person.getResultingStaminaForCurrentTasks() * -1;
 		for (int i = 0; i < remainingStamina; i++) {
-			(new Button("",this.x + 130 + (i * 20), this.taskListY - 10, 15, 10, 99 + i)).draw(g);
+			this.taskListButtons.add(new Button("",this.x + 130 + (i * 20), this.taskListY - 10, 15, 10, 99 + i, this.frameScheduler));
 		}
-		ArrayList<Task> tasksToDisplay = selectedPerson.getTasks();
+		ArrayList<Task> tasksToDisplay = person.getTasks();
 
 		if (tasksToDisplay != null) {
 			for (int i = 0; i < tasksToDisplay.size(); i++) {
-				(new Button(tasksToDisplay.get(i).name(), this.x + this.width / 2 - 58, this.taskListY + 10 + 40 * i, 120, 30)).draw(g);
+				this.taskListButtons.add(new Button(tasksToDisplay.get(i).name(), this.x + this.width / 2 - 58, this.taskListY + 10 + 40 * i, 120, 30, this.frameScheduler));
 				int taskStamina = tasksToDisplay.get(i).stamina();
 				int xStart;
 				String sign;
@@ -123,30 +122,110 @@ public class TasksUI extends UIComponent {
 					sign = "-";
 				}
 				for (int j = 0; j < abs(taskStamina); j++) {
-					(new Button(sign, xStart + 40 * j, this.taskListY + 10 + 40 * i, 30, 30)).draw(g);
+					this.taskListButtons.add(new Button(sign, xStart + 40 * j, this.taskListY + 10 + 40 * i, 30, 30, this.frameScheduler));
 				}
 			}
+			this.taskListTasks.addAll(tasksToDisplay);
+		}
+		this.taskListPersonId = person.getId();
+	}
+
+	/**
+	 * Tells if the task list is laid out for the current tasks of a person, without allocating
+	 * @param person: selected person
+	 * @return true if the person and its tasks did not change since the list was laid out
+	 */
+	private boolean isTaskListLaidOut(Person person) {
+		ArrayList<Task> tasks = person.getTasks();
+		if (this.taskListPersonId != person.getId() || this.taskListTasks.size() != tasks.size()) {
+			return false;
+		}
+		for (int i = 0; i < tasks.size(); i++) {
+			if (this.taskListTasks.get(i) != tasks.get(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Draws components the UI on the current scene
+	 * @param g: graphics component of the app
+	 */
+	public void draw(Graphics g) {
+		if (!isInClip(g)) {
+			return;
 		}
+		// Background, idle buttons and labels
+		this.layer.draw(g);
+
+		// Buttons with an interaction
+		drawActive(this.utilityButtons, g);
+		drawActive(this.taskButtons, g);
+		drawActive(this.personsButtons, g);
+
+		this.selectionMarkers.get(selectedPersonId).draw(g);
+
+		Graphics2D graphics2D = (Graphics2D) g;
+		graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+		// Remaining stamina and tasks, laid out again only when they change
+		Person selectedPerson = this.gameGUI.getGame().getHouse().getFamily().getPersonsFromId(this.selectedPersonId);
+		if (!isTaskListLaidOut(selectedPerson)) {
+			layoutTaskList(selectedPerson);
+		}
+		for (int i = 0; i < this.taskListButtons.size(); i++) {
+			this.taskListButtons.get(i).draw(g);
+		}
+	}
+
+	/**
+	 * Draws the static part of the UI into its layer: the background, the buttons without interaction and the labels
+	 * @param g: graphics of the layer
+	 */
+	private void drawStatic(Graphics2D g) {
+		g.setColor(BACKGROUND);
+		g.fillRect(x, y, width, height);
+		this.utilityButtons.forEach(button -> button.drawIdle(g));
+		this.taskButtons.forEach(button -> button.drawIdle(g));
+		this.personsButtons.forEach(button -> button.drawIdle(g));
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g.drawString("Remaining stamina:", this.x + 10, this.taskListY);
 	}
 
+	/**
+	 * Draws over the layer the buttons the user interacts with
+	 * @param buttons: buttons of the UI
+	 * @param g: graphics component of the app
+	 */
+	private static void drawActive(ArrayList<Button> buttons, Graphics g) {
+		for (int i = 0; i < buttons.size(); i++) {
+			if (!buttons.get(i).isIdle()) {
+				buttons.get(i).draw(g);
+			}
+		}
+	}
 
 	/**
 	 * Add the selected task to the Person tasks
 	 * @param id: ID of the task to add
 	 */
 	private void addTaskToSelectedPerson(int id) {
-		Task selectedTask = gameGUI.getGame().findTaskFromId(id);
-		Person selectedPerson = gameGUI.getGame().getHouse().getFamily().getPersonsFromId(this.selectedPersonId);
-		if ((selectedTask.stamina() + selectedPerson.getResultingStaminaForCurrentTasks()) * -1 <= selectedPerson.getMaxStamina()) { // * -1 because stamina decreases for task that needs it
-			selectedPerson.addTask(selectedTask);
-		}
+		gameGUI.getEngine().planTask(this.selectedPersonId, id);
 	}
 
 	/**
 	 * Reset tasks of the selected player
 	 */
 	private void resetTasks() {
-		gameGUI.getGame().getHouse().getFamily().getPersonsFromId(this.selectedPersonId).getTasks().clear();
+		gameGUI.getEngine().resetTasks(this.selectedPersonId);
+	}
+
+	/**
+	 * Replaces the tasks of all the persons by the best plan of the day
+	 */
+	private void autoPlan() {
+		taskPlanner.planDay(gameGUI.getEngine());
 	}
 
 	/**
@@ -154,6 +233,7 @@ public class TasksUI extends UIComponent {
 	 */
 	public void onNewDay() {
 		this.initControls();
+		this.layer.invalidate();
 	}
 	/**
 	 * Called when the user clicks anywhere on the screen. Used to know if the user clicked on the reset tasks or start day buttons
@@ -165,12 +245,9 @@ public class TasksUI extends UIComponent {
 			if (button.getBounds().contains(x, y)) {
 				switch (button.getId()) {
 					case 0 -> resetTasks();
+					case 2 -> autoPlan();
 					case 1 -> {
-                        int tasksCount = 0;
-                        for (Person person: this.gameGUI.getGame().getHouse().getFamily().getPersons()) {
-                            tasksCount += person.getTasks().size();
-                        }
-                        if (tasksCount > 0) {
+                        if (this.gameGUI.getEngine().getTasksCount() > 0) {
                             setPlayingState(DAY);
                         }
                     }
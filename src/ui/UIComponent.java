@@ -1,12 +1,19 @@
 /**
  * @file UIComponent.java
  * @date 27/12/2022
- * All the UIs share the same base, a position and a size
+ * All the UIs share the same base, a position and a size. A component invalidates the regions it changed so that only
+ * they are repainted, and skips its drawing when it is outside the region being repainted
  */
 package ui;
 
+import java.awt.Color;
+import java.awt.Graphics;
+import view.FrameScheduler;
+
 public class UIComponent {
+	protected static final Color BACKGROUND = new Color(220, 123, 15); // background of the components
 	protected int x, y, width, height; // horizontal position, vertical position, width of the component, height of the component
+	protected final FrameScheduler frameScheduler; // repaints the regions invalidated by the component
 
 	/**
 	 * Class constructor specifying the size and position of the window
@@ -14,11 +21,40 @@ public class UIComponent {
 	 * @param y: vertical position of the UI
 	 * @param width: width of the UI
 	 * @param height: height of the UI
+	 * @param frameScheduler: repaints the regions invalidated by the component
 	 */
-	public UIComponent(int x, int y, int width, int height) {
+	public UIComponent(int x, int y, int width, int height, FrameScheduler frameScheduler) {
 		this.x = x;
 		this.y = y;
 		this.width = width;
 		this.height = height;
+		this.frameScheduler = frameScheduler;
+	}
+
+	/**
+	 * Requests the whole component to be repainted
+	 */
+	public void invalidate() {
+		this.frameScheduler.invalidate(this.x, this.y, this.width, this.height);
+	}
+
+	/**
+	 * Requests a region of the component to be repainted
+	 * @param x: horizontal position of the region
+	 * @param y: vertical position of the region
+	 * @param width: width of the region
+	 * @param height: height of the region
+	 */
+	protected void invalidate(int x, int y, int width, int height) {
+		this.frameScheduler.invalidate(x, y, width, height);
+	}
+
+	/**
+	 * Tells if the component has to be drawn in the region being repainted
+	 * @param g: graphics component of the app, clipped to the region being repainted
+	 * @return true if the component intersects the region being repainted
+	 */
+	protected boolean isInClip(Graphics g) {
+		return g.hitClip(this.x, this.y, this.width, this.height);
 	}
-}
\ No newline at end of file
+}
@@ -4,7 +4,9 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 import model.Game;
@@ -37,15 +39,11 @@ public class LoadSave {
 		}
 	}
 
+	/**
+	 * @brief Saves values in a text file, one per line, the file is created if it does not exist yet
+	 */
 	public static void SaveLevel(String name, int[] idArr) {
-		File levelFile = new File(name + ".txt");
-
-		if (levelFile.exists()) {
-			WriteToFile(levelFile, idArr);
-		} else {
-			System.out.println("File:" + name + " does not exists!");
-		}
-
+		WriteToFile(new File(name + ".txt"), idArr);
 	}
 
 	private static ArrayList<Integer> ReadFromFile(File file) {
@@ -66,8 +64,31 @@ public class LoadSave {
 		return list;
 	}
 
+	/**
+	 * @brief Loads the saved game, from the binary save if there is one, from the older text save otherwise
+	 * @return the saved game, a new game if there is no save
+	 */
 	public static Game LoadGame() {
+		Path save = Path.of("game.sav");
+		if (SaveFormat.isBinarySave(save)) {
+			try {
+				List<Game> games = SaveFormat.read(save);
+				if (!games.isEmpty()) {
+					return games.get(0);
+				}
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		return LoadTextGame();
+	}
+
+	private static Game LoadTextGame() {
 		ArrayList<Integer> save = ReadFromFile(new File("game" + ".txt"));
+		if (save.size() < 9) {
+			System.out.println("No saved game found");
+			return new Game();
+		}
 		float weatherTemperature = (float) save.get(3) / 100;
 		float weatherHumidity = (float) save.get(4) / 100;
 		Weather weather = new Weather(weatherTemperature, weatherHumidity);
@@ -0,0 +1,566 @@
+/**
+ * @file SaveFormat.java
+ * @date 18/10/2026
+ * Versioned binary format of the saves, holding one game or many (a whole district).
+ * A save starts with a header: magic number, schema version, number of games, CRC32 and length of the payload.
+ * The payload is the list of the games, each one prefixed by its length and made of sections: a tag, a length and the
+ * content. A reader skips the sections it does not know, and reads every schema version up to its own.
+ * Since version 2 the whole model is saved: a loaded game is bit for bit the game saved, including its random generator,
+ * and the perks are restored without running their one-shot effects again. A section can also grow new fields at its
+ * end, read only when the section is long enough.
+ * All the values are big-endian, the floats are stored bit for bit
+ */
+package utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+import model.AutomationRule;
+import model.Family;
+import model.Game;
+import model.House;
+import model.Perk;
+import model.Person;
+import model.PowerGenerator;
+import model.Registry;
+import model.RoomStates;
+import model.Task;
+import model.Weather;
+
+public final class SaveFormat {
+
+	public static final int MAGIC = 0x53485356; // "SHSV", first bytes of every binary save
+	public static final short VERSION = 2; // schema version written by this class
+	private static final int HEADER_SIZE = 20; // magic, version, flags, games count, CRC, payload length
+
+	// Tags of the sections of a game. GAME and WEATHER come first since they are needed to create the game,
+	// the others are applied in the order they are written
+	private static final byte GAME = 1; // seed and day number, then the state of the random generator
+	private static final byte WEATHER = 2; // temperature, humidity and sky, then the difficulty rate
+	private static final byte PERKS = 3; // version 1 only: IDs of the bought perks in purchase order, bought again
+	private static final byte GENERATORS = 4; // power generators of the house
+	private static final byte HOUSE = 5; // temperature, humidity and energy of the house
+	private static final byte ROOMS = 6; // state of each room
+	private static final byte FAMILY = 7; // version 1 only: money and stamina of each person
+	private static final byte TASKS = 8; // available tasks, as changed by the perks
+	private static final byte PERK_STATE = 9; // available perks then bought perks, restored without their one-shot effects
+	private static final byte PERSONS = 10; // money, then each person with its stamina and picked tasks
+	private static final byte AUTOMATION = 11; // automation rules of the player
+
+	private static final byte HEATER_ON = 1; // flag of a room, the heater is on
+	private static final byte AC_ON = 2; // flag of a room, the AC is on
+	private static final byte WINDOW_OPEN = 4; // flag of a room, the window is open
+
+	private SaveFormat() {}
+
+	/**
+	 * Growable buffer the games are encoded in, the length of a section is written once its content is
+	 */
+	private static final class Output {
+
+		private ByteBuffer buffer; // bytes written so far, from the position 0
+
+		Output(int capacity) {
+			this.buffer = ByteBuffer.allocate(capacity);
+		}
+
+		/**
+		 * @return the buffer with at least a given number of bytes remaining
+		 */
+		ByteBuffer reserve(int bytes) {
+			if (this.buffer.remaining() < bytes) {
+				ByteBuffer grown = ByteBuffer.allocate(Math.max(this.buffer.capacity() * 2, this.buffer.position() + bytes));
+				grown.put(this.buffer.flip());
+				this.buffer = grown;
+			}
+			return this.buffer;
+		}
+
+		/**
+		 * Starts a section, its length is left blank until endSection
+		 * @return the position of the content of the section
+		 */
+		int beginSection(byte tag) {
+			this.reserve(5).put(tag).putInt(0);
+			return this.buffer.position();
+		}
+
+		void endSection(int start) {
+			this.buffer.putInt(start - 4, this.buffer.position() - start);
+		}
+
+		void putString(String value) {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			this.reserve(2 + bytes.length).putShort((short) bytes.length).put(bytes);
+		}
+	}
+
+	/**
+	 * Encodes games in a buffer, header included
+	 * @param games: games to encode
+	 * @return the encoded save, from its position to its limit
+	 */
+	public static ByteBuffer encode(List<Game> games) {
+		Output out = new Output(HEADER_SIZE + 512 * games.size());
+		out.reserve(HEADER_SIZE).position(HEADER_SIZE);
+		for (Game game: games) {
+			int start = out.reserve(4).putInt(0).position();
+			encodeGame(out, game);
+			out.buffer.putInt(start - 4, out.buffer.position() - start);
+		}
+
+		ByteBuffer buffer = out.buffer.flip();
+		CRC32 crc = new CRC32();
+		crc.update(buffer.duplicate().position(HEADER_SIZE));
+		buffer.putInt(0, MAGIC).putShort(4, VERSION).putShort(6, (short) 0).putInt(8, games.size())
+				.putInt(12, (int) crc.getValue()).putInt(16, buffer.limit() - HEADER_SIZE);
+		return buffer;
+	}
+
+	/**
+	 * Encodes a game in a single pass over the model, each section is written in place and its length filled in after
+	 */
+	private static void encodeGame(Output out, Game game) {
+		int section = out.beginSection(GAME);
+		out.reserve(20).putLong(game.getSeed()).putInt(game.getDayNumber()).putLong(game.getRandom().getState());
+		out.endSection(section);
+
+		Weather weather = game.getWeather();
+		section = out.beginSection(WEATHER);
+		int sky = (weather.isRainy() ? 1 : 0) | (weather.isSnowy() ? 2 : 0) | (weather.isSunny() ? 4 : 0) | (weather.isLightning() ? 8 : 0);
+		out.reserve(13).putFloat(weather.getTemperature()).putFloat(weather.getHumidityRate()).put((byte) sky).putFloat(weather.getDifficultyRate());
+		out.endSection(section);
+
+		section = out.beginSection(TASKS);
+		out.reserve(4).putInt(game.getAvailableTasks().size());
+		for (Task task: game.getAvailableTasks()) {
+			putTask(out, task);
+		}
+		out.endSection(section);
+
+		section = out.beginSection(PERK_STATE);
+		putPerks(out, game.getAvailablePerks());
+		putPerks(out, game.getBoughtPerks());
+		out.endSection(section);
+
+		House house = game.getHouse();
+		section = out.beginSection(GENERATORS);
+		out.reserve(4).putInt(house.getPowerSupply().size());
+		for (PowerGenerator generator: house.getPowerSupply()) {
+			out.putString(generator.getName());
+			out.reserve(12).putInt(generator.getInstallationCost()).putInt(generator.getDailyCost()).putInt(generator.getDailyProduction());
+		}
+		out.endSection(section);
+
+		section = out.beginSection(HOUSE);
+		out.reserve(12).putFloat(house.getTemperature()).putFloat(house.getHumidityRate()).putInt(house.getEnergy());
+		out.endSection(section);
+
+		RoomStates rooms = house.getRoomStates();
+		section = out.beginSection(ROOMS);
+		out.reserve(4 + 21 * rooms.size()).putInt(rooms.size());
+		for (int i = 0; i < rooms.size(); i++) {
+			int flags = (rooms.isHeaterTurnedOn(i) ? HEATER_ON : 0) | (rooms.isACTurnedOn(i) ? AC_ON : 0) | (rooms.isWindowOpen(i) ? WINDOW_OPEN : 0);
+			out.buffer.putFloat(rooms.getTemperature(i)).putFloat(rooms.getHumidityRate(i)).putFloat(rooms.getIsolationRate(i))
+					.putFloat(rooms.getHeaterTemperature(i)).putFloat(rooms.getACTemperature(i)).put((byte) flags);
+		}
+		out.endSection(section);
+
+		List<Person> persons = house.getFamily().getPersons();
+		section = out.beginSection(PERSONS);
+		out.reserve(8).putInt(house.getFamily().getMoney()).putInt(persons.size());
+		for (Person person: persons) {
+			out.reserve(4).putInt(person.getId());
+			out.putString(person.getName());
+			out.reserve(12).putInt(person.getMaxStamina()).putInt(person.getStamina()).putInt(person.getTasks().size());
+			for (Task task: person.getTasks()) {
+				putTask(out, task);
+			}
+		}
+		out.endSection(section);
+
+		List<AutomationRule> rules = house.getAutomationRules();
+		section = out.beginSection(AUTOMATION);
+		out.reserve(4).putInt(rules.size());
+		for (AutomationRule rule: rules) {
+			out.reserve(10 + 6 * rule.conditions().size()).putInt(rule.roomIndex()).put((byte) rule.action().ordinal())
+					.putFloat(rule.value()).put((byte) rule.conditions().size());
+			for (AutomationRule.Condition condition: rule.conditions()) {
+				out.buffer.put((byte) condition.input().ordinal()).put((byte) condition.comparison().ordinal()).putFloat(condition.threshold());
+			}
+		}
+		out.endSection(section);
+	}
+
+	private static void putTask(Output out, Task task) {
+		out.reserve(4).putInt(task.ID());
+		out.putString(task.name());
+		out.putString(task.message());
+		out.reserve(12).putInt(task.stamina()).putInt(task.money()).putInt(task.energy());
+	}
+
+	/**
+	 * Writes the values of perks, their effects are not saved: they are found again from the ID when loading
+	 */
+	private static void putPerks(Output out, Registry<Perk> perks) {
+		out.reserve(4).putInt(perks.size());
+		for (Perk perk: perks) {
+			out.reserve(4).putInt(perk.ID());
+			out.putString(perk.name());
+			out.reserve(12).putInt(perk.installationCost()).putInt(perk.dailyMoneyCost()).putInt(perk.dailyEnergyCost());
+		}
+	}
+
+	/**
+	 * Decodes the games of a save
+	 * @param buffer: encoded save, from its position to its limit, not changed
+	 * @return the games in the order they have been saved
+	 * @throws IOException if the save is corrupted or written by a newer version
+	 */
+	public static List<Game> decode(ByteBuffer buffer) throws IOException {
+		buffer = buffer.slice();
+		if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+			throw new IOException("Not a binary save");
+		}
+		int version = buffer.getShort(4);
+		if (version < 1 || version > VERSION) {
+			throw new IOException("Unsupported save version " + version + ", this game reads up to version " + VERSION);
+		}
+		int gamesCount = buffer.getInt(8);
+		int payloadLength = buffer.getInt(16);
+		if (payloadLength < 0 || payloadLength > buffer.remaining() - HEADER_SIZE) {
+			throw new IOException("Corrupted save: truncated payload");
+		}
+		ByteBuffer payload = buffer.slice(HEADER_SIZE, payloadLength);
+		CRC32 crc = new CRC32();
+		crc.update(payload.duplicate());
+		if ((int) crc.getValue() != buffer.getInt(12)) {
+			throw new IOException("Corrupted save: wrong checksum");
+		}
+		if (gamesCount < 0 || gamesCount > payloadLength / 4) { // the header is not covered by the checksum, each game takes at least its length
+			throw new IOException("Corrupted save: wrong games count " + gamesCount);
+		}
+
+		ByteBuffer[] records = new ByteBuffer[gamesCount];
+		for (int i = 0; i < gamesCount; i++) {
+			records[i] = slice(payload);
+		}
+		if (payload.hasRemaining()) {
+			throw new IOException("Corrupted save: " + payload.remaining() + " bytes after the last game");
+		}
+		Game[] games = new Game[gamesCount];
+		try { // the games are independent and each one is prefixed by its length, so they are decoded in parallel
+			IntStream.range(0, gamesCount).parallel().forEach(i -> {
+				try {
+					games[i] = decodeGame(records[i], version);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		return Arrays.asList(games);
+	}
+
+	/**
+	 * Reads a length and returns the next bytes of that length, the buffer is moved after them
+	 */
+	private static ByteBuffer slice(ByteBuffer buffer) throws IOException {
+		if (buffer.remaining() < 4) {
+			throw new IOException("Corrupted save: truncated length");
+		}
+		int length = buffer.getInt();
+		if (length < 0 || length > buffer.remaining()) {
+			throw new IOException("Corrupted save: length out of bounds");
+		}
+		ByteBuffer slice = buffer.slice(buffer.position(), length);
+		buffer.position(buffer.position() + length);
+		return slice;
+	}
+
+	private static Game decodeGame(ByteBuffer record, int version) throws IOException {
+		try {
+			Game game = null;
+			long seed = 0;
+			int dayNumber = 0;
+			long randomState = 0;
+			boolean hasRandomState = false;
+			while (record.hasRemaining()) {
+				byte tag = record.get();
+				ByteBuffer section = slice(record);
+				if (tag == GAME) {
+					seed = section.getLong();
+					dayNumber = section.getInt();
+					hasRandomState = section.hasRemaining();
+					randomState = hasRandomState ? section.getLong() : 0;
+					continue;
+				}
+				if (tag == WEATHER) {
+					Weather weather = new Weather(section.getFloat(), section.getFloat());
+					int sky = section.get();
+					weather.setRainy((sky & 1) != 0);
+					weather.setSnowy((sky & 2) != 0);
+					weather.setSunny((sky & 4) != 0);
+					weather.setLightning((sky & 8) != 0);
+					if (section.hasRemaining()) {
+						weather.setDifficultyRate(section.getFloat());
+					}
+					game = new Game(seed, weather, dayNumber);
+					if (hasRandomState) {
+						game.getRandom().setState(randomState);
+					}
+					continue;
+				}
+				if (game == null) {
+					throw new IOException("Corrupted save: section " + tag + " before the weather");
+				}
+				switch (tag) {
+					case PERKS -> decodePerks(section, game);
+					case TASKS -> decodeTasks(section, game.getAvailableTasks());
+					case PERK_STATE -> decodePerkState(section, game);
+					case GENERATORS -> decodeGenerators(section, game.getHouse());
+					case HOUSE -> {
+						game.getHouse().setTemperature(section.getFloat());
+						game.getHouse().setHumidityRate(section.getFloat());
+						game.getHouse().setEnergy(section.getInt());
+					}
+					case ROOMS -> decodeRooms(section, game.getHouse().getRoomStates());
+					case FAMILY -> decodeFamily(section, game);
+					case PERSONS -> decodePersons(section, game.getHouse().getFamily());
+					case AUTOMATION -> decodeAutomation(section, game.getHouse());
+					default -> {} // section of a newer version, skipped
+				}
+			}
+			if (game == null) {
+				throw new IOException("Corrupted save: game without weather");
+			}
+			return game;
+		} catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new IOException("Corrupted save: section shorter than its content", e);
+		}
+	}
+
+	private static String getString(ByteBuffer section) {
+		byte[] bytes = new byte[section.getShort() & 0xffff];
+		section.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static Task getTask(ByteBuffer section) {
+		return new Task(section.getInt(), getString(section), getString(section), section.getInt(), section.getInt(), section.getInt());
+	}
+
+	/**
+	 * Replaces the available tasks by the saved ones, in their order
+	 */
+	private static void decodeTasks(ByteBuffer section, Registry<Task> tasks) {
+		tasks.clear();
+		int count = section.getInt();
+		for (int i = 0; i < count; i++) {
+			tasks.add(getTask(section));
+		}
+	}
+
+	/**
+	 * Restores the available and bought perks with their saved values, the effects are taken from the perks of a new
+	 * game with the same ID
+	 */
+	private static void decodePerkState(ByteBuffer section, Game game) {
+		Registry<Perk> catalog = game.getAvailablePerks().copy();
+		List<Perk> available = getPerks(section, catalog);
+		List<Perk> bought = getPerks(section, catalog);
+		game.restorePerks(available, bought);
+	}
+
+	private static List<Perk> getPerks(ByteBuffer section, Registry<Perk> catalog) {
+		int count = section.getInt();
+		List<Perk> perks = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			int id = section.getInt();
+			Perk known = catalog.get(id);
+			perks.add(new Perk(id, getString(section), section.getInt(), section.getInt(), section.getInt(), known == null ? List.of() : known.effects()));
+		}
+		return perks;
+	}
+
+	/**
+	 * Buys again the perks, for free, which also adds their generators
+	 */
+	private static void decodePerks(ByteBuffer section, Game game) {
+		int count = section.getInt();
+		for (int i = 0; i < count; i++) {
+			game.addPerkFromID(section.getInt());
+		}
+	}
+
+	/**
+	 * Adds the generators the house does not have yet: the ones of a new house are already there, and so are the ones
+	 * of the perks bought again by a save of version 1
+	 */
+	private static void decodeGenerators(ByteBuffer section, House house) {
+		int count = section.getInt();
+		for (int i = 0; i < count; i++) {
+			PowerGenerator generator = new PowerGenerator(getString(section), section.getInt(), section.getInt(), section.getInt());
+			if (i >= house.getPowerSupply().size()) {
+				house.addPowerSupply(generator);
+			}
+		}
+	}
+
+	/**
+	 * Restores the rooms the house has, the others are skipped
+	 */
+	private static void decodeRooms(ByteBuffer section, RoomStates rooms) {
+		int count = section.getInt();
+		for (int i = 0; i < count && i < rooms.size(); i++) {
+			rooms.setTemperature(i, section.getFloat());
+			rooms.setHumidityRate(i, section.getFloat());
+			rooms.setIsolationRate(i, section.getFloat());
+			rooms.setHeaterTemperature(i, section.getFloat());
+			rooms.setACTemperature(i, section.getFloat());
+			int flags = section.get();
+			rooms.setHeaterTurnedOn(i, (flags & HEATER_ON) != 0);
+			rooms.setACTurnedOn(i, (flags & AC_ON) != 0);
+			rooms.setWindowOpen(i, (flags & WINDOW_OPEN) != 0);
+		}
+	}
+
+	/**
+	 * Restores the money and the stamina of the persons found by their ID
+	 */
+	private static void decodeFamily(ByteBuffer section, Game game) {
+		game.getHouse().getFamily().setMoney(section.getInt());
+		int count = section.getInt();
+		for (int i = 0; i < count; i++) {
+			Person person = game.getHouse().getFamily().getPersonsFromId(section.getInt());
+			int stamina = section.getInt();
+			if (person != null) {
+				person.setStamina(stamina);
+			}
+		}
+	}
+
+	/**
+	 * Restores the money and the persons found by their ID, with their stamina and picked tasks. The persons missing
+	 * from the family are added
+	 */
+	private static void decodePersons(ByteBuffer section, Family family) {
+		family.setMoney(section.getInt());
+		int count = section.getInt();
+		for (int i = 0; i < count; i++) {
+			int id = section.getInt();
+			String name = getString(section);
+			int maxStamina = section.getInt();
+			Person person = family.getPersonsFromId(id);
+			if (person == null) {
+				person = new Person(name, id, maxStamina);
+				family.addPerson(person);
+			}
+			person.setStamina(section.getInt());
+			person.getTasks().clear();
+			int tasksCount = section.getInt();
+			for (int t = 0; t < tasksCount; t++) {
+				person.getTasks().add(getTask(section));
+			}
+		}
+	}
+
+	private static void decodeAutomation(ByteBuffer section, House house) {
+		house.clearAutomationRules();
+		int count = section.getInt();
+		for (int i = 0; i < count; i++) {
+			int roomIndex = section.getInt();
+			AutomationRule.Action action = AutomationRule.Action.values()[section.get()];
+			float value = section.getFloat();
+			AutomationRule.Condition[] conditions = new AutomationRule.Condition[section.get() & 0xff];
+			for (int c = 0; c < conditions.length; c++) {
+				conditions[c] = new AutomationRule.Condition(AutomationRule.Input.values()[section.get()],
+						AutomationRule.Comparison.values()[section.get()], section.getFloat());
+			}
+			house.addAutomationRule(new AutomationRule(roomIndex, List.of(conditions), action, value));
+		}
+	}
+
+	/**
+	 * Writes games in a file, replacing it. The save is written in a temporary file next to it, forced to the disk, then
+	 * renamed over the previous save in one atomic step and the directory is forced to the disk so that the rename itself
+	 * survives a crash: a crash during the write leaves the previous save untouched. On the systems that cannot force a
+	 * directory, Windows among them, the rename may be lost by a crash right after it and the previous save is kept
+	 * @param path: path of the file
+	 * @param games: games to save
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void write(Path path, List<Game> games) throws IOException {
+		ByteBuffer buffer = encode(games);
+		Path temporary = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+		try {
+			try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+				channel.force(true);
+			}
+			try {
+				Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+			forceDirectory(path.toAbsolutePath().getParent());
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	/**
+	 * Forces the entries of a directory to the disk, where the system can open a directory
+	 * @param directory: directory to force
+	 */
+	private static void forceDirectory(Path directory) {
+		try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+			channel.force(true);
+		} catch (IOException e) {
+			// Directories cannot be opened on this system, the rename is left to the system
+		}
+	}
+
+	/**
+	 * Reads the games of a file, copied at once into the heap: a mapping would keep the file open until the buffer is
+	 * collected, which prevents the next save from replacing it on some systems
+	 * @param path: path of the file
+	 * @return the games in the order they have been saved
+	 * @throws IOException if the file cannot be read, is corrupted or written by a newer version
+	 */
+	public static List<Game> read(Path path) throws IOException {
+		return decode(ByteBuffer.wrap(Files.readAllBytes(path)));
+	}
+
+	/**
+	 * Tells if a file is a binary save, saves older than this format are text files
+	 * @param path: path of the file
+	 * @return true if the file starts with the magic number
+	 */
+	public static boolean isBinarySave(Path path) {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer magic = ByteBuffer.allocate(4);
+			while (magic.hasRemaining() && channel.read(magic) >= 0) {}
+			return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/**
+ * @file SaveWorker.java
+ * @date 18/10/2026
+ * Saves games in the background so that the interface never waits for the disk. The caller thread only takes a copy of
+ * the game, which is never changed afterwards, and a single background thread encodes and writes it with SaveFormat.
+ * When saves are requested faster than they are written, only the latest game waiting is written.
+ * The state of the saves is reported to a listener on the event dispatch thread
+ */
+package utils;
+
+import java.awt.EventQueue;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import model.Game;
+
+public class SaveWorker {
+
+	public enum State {
+		IDLE, SAVING, SAVED, FAILED
+	}
+
+	/**
+	 * State of the last save
+	 * @param state: where the save is
+	 * @param message: message to display to the player
+	 * @param durationNanos: time taken to write the save, 0 until it is written
+	 */
+	public record Status(State state, String message, long durationNanos) {}
+
+	private final Path path; // file the games are saved in
+	private final ThreadPoolExecutor executor; // single background thread writing the saves
+	private final AtomicReference<Game> pending; // latest copy of a game waiting to be written, null if none
+	private final Consumer<Status> listener; // told of each change of status, on the event dispatch thread
+	private volatile Status status; // status of the last save
+
+	/**
+	 * Class constructor
+	 * @param path: file the games are saved in
+	 * @param listener: told of each change of status, on the event dispatch thread
+	 */
+	public SaveWorker(Path path, Consumer<Status> listener) {
+		this.path = path;
+		this.listener = listener;
+		this.pending = new AtomicReference<>();
+		this.status = new Status(State.IDLE, "", 0);
+		this.executor = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+			Thread thread = new Thread(runnable, "Save worker");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.executor.allowCoreThreadTimeOut(true); // no thread is kept while the player does not save
+	}
+
+	/**
+	 * Saves a game in the background, returns as soon as the game is copied
+	 * @param game: game to save, can be changed as soon as the method returns
+	 */
+	public void save(Game game) {
+		if (this.pending.getAndSet(game.copy()) == null) {
+			this.setStatus(new Status(State.SAVING, "Saving...", 0));
+			this.executor.execute(this::writePending);
+		}
+	}
+
+	private void writePending() {
+		Game game = this.pending.getAndSet(null);
+		long start = System.nanoTime();
+		try {
+			SaveFormat.write(this.path, List.of(game));
+			this.setStatus(new Status(State.SAVED, "Saved day " + game.getDayNumber(), System.nanoTime() - start));
+		} catch (IOException e) {
+			this.setStatus(new Status(State.FAILED, "Save failed: " + e.getMessage(), System.nanoTime() - start));
+		}
+	}
+
+	private void setStatus(Status status) {
+		this.status = status;
+		EventQueue.invokeLater(() -> this.listener.accept(status));
+	}
+
+	/**
+	 * Waits for the saves requested to be written
+	 * @param timeoutMillis: maximum time to wait in milliseconds
+	 * @return true if all the saves are written, false if the time is out
+	 */
+	public boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + timeoutMillis;
+		while (this.pending.get() != null || this.executor.getActiveCount() > 0) {
+			if (System.currentTimeMillis() > deadline) {
+				return false;
+			}
+			Thread.sleep(1);
+		}
+		return true;
+	}
+
+	/**
+	 * Getters and setters
+	 */
+	public Status getStatus() {
+		return this.status;
+	}
+}
@@ -0,0 +1,182 @@
+/**
+ * @file FrameScheduler.java
+ * @date 18/10/2026
+ * Drives the repaints of the application on demand: the thread sleeps until a frame is requested, because the model,
+ * a hover or a press changed, or while an animation is running. The frames are capped to a maximum rate.
+ * A change of the model repaints the whole screen, while the components invalidate only the regions they changed: the
+ * regions invalidated between two frames are merged into their bounding rectangle and only this rectangle is repainted.
+ * The time taken by each frame and the number of pixels it covered are measured by the screen and gathered here.
+ * The application has a single scheduler, owned by the GUIManager and given to the components that request frames
+ */
+package view;
+
+import java.awt.Rectangle;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+public class FrameScheduler implements Runnable {
+
+	/**
+	 * Statistics of the frames painted since the last report
+	 * @param framesCount: number of frames painted
+	 * @param framesPerSecond: number of frames painted per second
+	 * @param averageMillis: mean time taken to paint a frame in milliseconds
+	 * @param maxMillis: longest time taken to paint a frame in milliseconds
+	 * @param averagePixels: mean number of pixels repainted by a frame
+	 */
+	public record Stats(long framesCount, double framesPerSecond, double averageMillis, double maxMillis, double averagePixels) {
+
+		public String toString() {
+			return String.format("%d frames, %.1f FPS, %.2f ms per frame on average, %.2f ms at worst, %.0f pixels per frame on average",
+					framesCount, framesPerSecond, averageMillis, maxMillis, averagePixels);
+		}
+	}
+
+	private static final long REPORT_PERIOD_NANOS = 5_000_000_000L; // time between two reports of the statistics
+
+	private final Consumer<Rectangle> repaint; // asks the screen to repaint a region of itself
+	private final Rectangle screenBounds; // region of the whole screen
+	private final Rectangle frameRegion; // region repainted by the current frame
+	private final Object lock; // guards the requests of frames
+	private boolean isFullFrameRequested; // the whole screen has to be repainted, true to paint the first frame
+	private final Rectangle dirtyRegion; // bounds of the regions invalidated since the last frame, empty if none
+	private long animationEndNanos; // frames are painted continuously until this time
+	private final long minFrameNanos; // minimum time between two frames, from the maximum rate
+	private final boolean isReporting; // true if the statistics are printed periodically
+	private long framesCount; // frames painted since the last report
+	private long totalFrameNanos; // time taken by the frames painted since the last report
+	private long maxFrameNanos; // longest frame since the last report
+	private long totalPixels; // pixels repainted by the frames since the last report
+	private long reportStartNanos; // start of the period of the statistics
+
+	/**
+	 * Class constructor
+	 * @param repaint: asks the screen to repaint a region of itself
+	 * @param screenBounds: region of the whole screen
+	 * @param maxFramesPerSecond: maximum rate of the frames
+	 * @param isReporting: true to print the statistics of the frames every 5 seconds when frames are painted
+	 */
+	public FrameScheduler(Consumer<Rectangle> repaint, Rectangle screenBounds, int maxFramesPerSecond, boolean isReporting) {
+		this.repaint = repaint;
+		this.screenBounds = new Rectangle(screenBounds);
+		this.frameRegion = new Rectangle();
+		this.lock = new Object();
+		this.isFullFrameRequested = true;
+		this.dirtyRegion = new Rectangle();
+		this.animationEndNanos = System.nanoTime();
+		this.minFrameNanos = 1_000_000_000L / Math.max(1, maxFramesPerSecond);
+		this.isReporting = isReporting;
+		this.reportStartNanos = System.nanoTime();
+	}
+
+	/**
+	 * Requests a frame of the whole screen, called from any thread when the model or the scene has changed
+	 */
+	public void requestFrame() {
+		synchronized (this.lock) {
+			this.isFullFrameRequested = true;
+			this.lock.notifyAll();
+		}
+	}
+
+	/**
+	 * Requests a frame repainting a region of the screen, called from any thread when a component changed its look there
+	 * @param x: horizontal position of the region
+	 * @param y: vertical position of the region
+	 * @param width: width of the region
+	 * @param height: height of the region
+	 */
+	public void invalidate(int x, int y, int width, int height) {
+		if (width <= 0 || height <= 0) {
+			return;
+		}
+		synchronized (this.lock) {
+			if (this.dirtyRegion.isEmpty()) {
+				this.dirtyRegion.setBounds(x, y, width, height);
+			} else {
+				this.dirtyRegion.add(x, y);
+				this.dirtyRegion.add(x + width, y + height);
+			}
+			this.lock.notifyAll();
+		}
+	}
+
+	/**
+	 * Requests frames continuously for a given time, at the maximum rate
+	 * @param millis: duration of the animation in milliseconds
+	 */
+	public void animateFor(long millis) {
+		synchronized (this.lock) {
+			this.animationEndNanos = Math.max(this.animationEndNanos, System.nanoTime() + millis * 1_000_000);
+			this.isFullFrameRequested = true;
+			this.lock.notifyAll();
+		}
+	}
+
+	/**
+	 * Frame loop: waits for a request, waits for the end of the minimum time between two frames, then repaints the whole
+	 * screen or the region invalidated, within the screen
+	 */
+	@Override
+	public void run() {
+		long lastFrame = System.nanoTime() - this.minFrameNanos;
+		while (!Thread.currentThread().isInterrupted()) {
+			synchronized (this.lock) {
+				while (!this.isFullFrameRequested && this.dirtyRegion.isEmpty() && System.nanoTime() - this.animationEndNanos >= 0) {
+					try {
+						this.lock.wait();
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+			}
+			long wait = lastFrame + this.minFrameNanos - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			synchronized (this.lock) { // regions invalidated while waiting are part of this frame
+				if (this.isFullFrameRequested || System.nanoTime() - this.animationEndNanos < 0) {
+					this.frameRegion.setBounds(this.screenBounds);
+				} else {
+					Rectangle.intersect(this.dirtyRegion, this.screenBounds, this.frameRegion);
+				}
+				this.isFullFrameRequested = false;
+				this.dirtyRegion.setBounds(0, 0, 0, 0);
+			}
+			lastFrame = System.nanoTime();
+			if (!this.frameRegion.isEmpty()) {
+				this.repaint.accept(this.frameRegion);
+			}
+		}
+	}
+
+	/**
+	 * Gathers the time taken by a frame, called by the screen once it is painted
+	 * @param frameNanos: time taken to paint the frame in nanoseconds
+	 * @param pixels: number of pixels repainted by the frame
+	 */
+	public void onFramePainted(long frameNanos, long pixels) {
+		this.framesCount++;
+		this.totalPixels += pixels;
+		this.totalFrameNanos += frameNanos;
+		this.maxFrameNanos = Math.max(this.maxFrameNanos, frameNanos);
+		if (this.isReporting && System.nanoTime() - this.reportStartNanos >= REPORT_PERIOD_NANOS) {
+			System.out.println("Frames - " + this.takeStats());
+		}
+	}
+
+	/**
+	 * Gives the statistics of the frames painted since the last call, and starts a new period
+	 * @return the statistics of the period
+	 */
+	public Stats takeStats() {
+		long now = System.nanoTime();
+		double seconds = (now - this.reportStartNanos) / 1e9;
+		Stats stats = new Stats(this.framesCount, this.framesCount / seconds,
+				this.framesCount == 0 ? 0 : this.totalFrameNanos / 1e6 / this.framesCount, this.maxFrameNanos / 1e6,
+				this.framesCount == 0 ? 0 : this.totalPixels / (double) this.framesCount);
+		this.framesCount = this.totalFrameNanos = this.maxFrameNanos = this.totalPixels = 0;
+		this.reportStartNanos = now;
+		return stats;
+	}
+}
@@ -1,10 +1,11 @@
 /**
  * @file Game.java
  * @date 27/12/2022
- * Main view of the program, updates the view at a constant rate, displays a different scene depending on the GameState
+ * Main view of the program, updates the view when something changed, displays a different scene depending on the GameState
  */
 package view;
 
+import java.awt.Rectangle;
 import javax.swing.JFrame;
 
 public class GUIManager extends JFrame implements Runnable {
@@ -14,6 +15,7 @@ public class GUIManager extends JFrame implements Runnable {
 	private final Menu menu; // instance of the menu view
 	private GameGUI gameGUI; // instance of the in game view
 	private final GameOver gameOver; // instance of the gameOver view
+	private final FrameScheduler frameScheduler; // repaints the screen on demand
 
 	/**
 	 * Class constructor
@@ -21,6 +23,7 @@ public class GUIManager extends JFrame implements Runnable {
 	public GUIManager() {
 		render = new Render(this);
 		screen = new Screen(this);
+		frameScheduler = new FrameScheduler(screen::repaint, new Rectangle(screen.getSize()), Integer.getInteger("fps", 90), Boolean.getBoolean("frameStats"));
 		menu = new Menu(this);
 		gameGUI = new GameGUI(this);
 		gameOver = new GameOver(this);
@@ -42,24 +45,11 @@ public class GUIManager extends JFrame implements Runnable {
 	}
 
 	/**
-	 * Main game loop, updates the view and the game model
+	 * Main game loop, repaints the regions of the view invalidated when a frame is requested, at most at the rate given by the "fps" property (90 by default)
 	 */
 	@Override
 	public void run() {
-		long lastFrame = System.nanoTime();
-		double FPS_SET = 90.0;
-		double timePerFrame = 1000000000.0 / FPS_SET;
-
-		long now;
-
-		while (true) {
-			now = System.nanoTime();
-			// Render
-			if (now - lastFrame >= timePerFrame) {
-				lastFrame = now;
-				repaint();
-			}
-		}
+		this.frameScheduler.run();
 	}
 
 	/**
@@ -88,4 +78,8 @@ public class GUIManager extends JFrame implements Runnable {
 	public GameGUI getGameGUI() {
 		return this.gameGUI;
 	}
+
+	public FrameScheduler getFrameScheduler() {
+		return this.frameScheduler;
+	}
 }
@@ -5,8 +5,10 @@
  */
 package view;
 
+import java.awt.Dimension;
 import java.awt.Graphics;
 import model.Game;
+import simulation.GameEngine;
 import ui.*;
 import utils.GameStates;
 import utils.PlayingStates;
@@ -14,33 +16,41 @@ import utils.PlayingStates;
 public class GameGUI extends GameScene implements SceneMethods {
 
 	private final Game game; // instance of the game (model)
+	private final GameEngine engine; // drives the game model through the day
 	private final InfoBarUI infoBarUI; // info bar indicating the information of the weather and the house
 	private final TasksUI tasksUI; // UI of the tasks picking
 	private final DuringDayUI duringDayUI; // UI of the tasks execution
 	private final PerksUI perksUI; // UI used to buy perks for the house
 	private final int gameElementsHeight; // height of the main game component
+	private final FrameScheduler frameScheduler; // repaints the regions invalidated by the UIs
 
 	/**
 	 * Class constructor
 	 * @param GUIManager: manages all the views of the application
 	 */
 	public GameGUI(GUIManager GUIManager) {
-		super(GUIManager);
-		this.gameElementsHeight = this.GUIManager.getScreen().getSize().height - 120;
-		this.game = new Game();
-		int width = this.GUIManager.getScreen().getSize().width;
-		infoBarUI = new InfoBarUI(0, gameElementsHeight, width, 120, this.game);
-		tasksUI = new TasksUI(0, 0, width, gameElementsHeight, this);
-		duringDayUI = new DuringDayUI(0, 0, width, gameElementsHeight, this);
-		perksUI = new PerksUI(0, 0, width, gameElementsHeight, this);
+		this(GUIManager, new Game());
 	}
 
 	public GameGUI(GUIManager GUIManager, Game game) {
+		this(GUIManager, game, GUIManager.getScreen().getSize(), GUIManager.getFrameScheduler());
+	}
+
+	/**
+	 * Class constructor specifying the size of the screen, used to draw the game without a window
+	 * @param GUIManager: manages all the views of the application, can be null without a window
+	 * @param game: game model
+	 * @param screenSize: size of the screen
+	 * @param frameScheduler: repaints the regions invalidated by the UIs
+	 */
+	public GameGUI(GUIManager GUIManager, Game game, Dimension screenSize, FrameScheduler frameScheduler) {
 		super(GUIManager);
-		this.gameElementsHeight = this.GUIManager.getScreen().getSize().height - 120;
+		this.frameScheduler = frameScheduler;
+		this.gameElementsHeight = screenSize.height - 120;
 		this.game = game;
-		int width = this.GUIManager.getScreen().getSize().width;
-		infoBarUI = new InfoBarUI(0, gameElementsHeight, width, 120, this.game);
+		this.engine = new GameEngine(this.game);
+		int width = screenSize.width;
+		infoBarUI = new InfoBarUI(0, gameElementsHeight, width, 120, this.game, frameScheduler);
 		tasksUI = new TasksUI(0, 0, width, gameElementsHeight, this);
 		duringDayUI = new DuringDayUI(0, 0, width, gameElementsHeight, this);
 		perksUI = new PerksUI(0, 0, width, gameElementsHeight, this);
@@ -60,7 +70,7 @@ public class GameGUI extends GameScene implements SceneMethods {
 	}
 
 	public void onNewDay() {
-		if (this.game.onNewDay()) {
+		if (this.engine.endDay()) {
 			this.tasksUI.onNewDay();
 			this.duringDayUI.onNewDay();
 			this.perksUI.onNewDay();
@@ -127,6 +137,14 @@ public class GameGUI extends GameScene implements SceneMethods {
 		return this.game;
 	}
 
+	public GameEngine getEngine() {
+		return this.engine;
+	}
+
+	public FrameScheduler getFrameScheduler() {
+		return this.frameScheduler;
+	}
+
 	public GUIManager getGUIManager() {
 		return this.GUIManager;
 	}
@@ -26,7 +26,7 @@ public class GameOver extends GameScene implements SceneMethods {
 		int buttonHeight = buttonWidth / 3;
 		int x = this.GUIManager.getScreen().getSize().width / 2 - buttonWidth / 2;
 		int y = 300;
-		this.menuButton = new Button("Menu", x, y, buttonWidth, buttonHeight);
+		this.menuButton = new Button("Menu", x, y, buttonWidth, buttonHeight, this.GUIManager.getFrameScheduler());
 	}
 
 	@Override
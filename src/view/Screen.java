@@ -13,6 +13,7 @@ public class Screen extends JPanel {
 
 	private final GUIManager GUIManager; // manages all the views of the application
 	private Dimension size; // dimension of the window
+	private final Rectangle clip; // region repainted by the current frame, reused by every frame
 
 	/**
 	 * Class constructor
@@ -20,6 +21,7 @@ public class Screen extends JPanel {
 	 */
 	public Screen(GUIManager GUIManager) {
 		this.GUIManager = GUIManager;
+		this.clip = new Rectangle();
 		setPanelSize();
 		initInputs();
 	}
@@ -27,6 +29,7 @@ public class Screen extends JPanel {
 	private void initInputs() {
 		MyMouseListener myMouseListener = new MyMouseListener(GUIManager);
 		addMouseListener(myMouseListener);
+		addMouseMotionListener(myMouseListener);
 		requestFocus();
 	}
 
@@ -41,12 +44,18 @@ public class Screen extends JPanel {
 	}
 
 	/**
-	 * Renders the whole game
+	 * Renders the game within the region to repaint, the clip of the graphics, and measures the time taken by the frame
+	 * and the number of pixels it covered
 	 * @param g: graphics component of the app
 	 */
 	public void paintComponent(Graphics g) {
+		long start = System.nanoTime();
 		super.paintComponent(g);
 		GUIManager.getRender().render(g);
+		this.clip.setBounds(0, 0, size.width, size.height); // kept when the graphics has no clip
+		g.getClipBounds(this.clip);
+		long pixels = (long) this.clip.width * this.clip.height;
+		GUIManager.getFrameScheduler().onFramePainted(System.nanoTime() - start, pixels);
 	}
 
 	/**